@@ -1,16 +1,30 @@
 package com.revature.yolp;
 
-import com.revature.yolp.utils.ConnectionFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.revature.yolp.utils.Router;
+import com.revature.yolp.utils.StartupSequence;
 import io.javalin.Javalin;
+import io.javalin.plugin.json.JavalinJackson;
 
 /* purpose of this class is to start our application */
 public class MainDriver {
     public static void main(String[] args) {
+        start(8080, new StartupSequence());
+    }
+
+    /* returns once warm-up is done (successful or not, see startupSequence.isReady()), port 0 picks a free port */
+    public static Javalin start(int port, StartupSequence startupSequence) {
+        /* one mapper behind both the BodyCodec JSON bodies and the ctx.json error responses, so warming it up covers both */
+        ObjectMapper mapper = new ObjectMapper();
         Javalin app = Javalin.create(c -> {
             c.contextPath = "/yolp";
-        }).start(8080);
+            c.jsonMapper(new JavalinJackson(mapper));
+        });
 
-        Router.router(app);
+        /* routes first, then listen (only /health answers until warm), then warm up */
+        startupSequence.time("routes", () -> Router.router(app, mapper, startupSequence));
+        startupSequence.time("server", () -> app.start(port));
+        startupSequence.warmUp();
+        return app;
     }
 }
@@ -0,0 +1,120 @@
+package com.revature.yolp.daos;
+
+import com.revature.yolp.daos.mappers.ReceiptRowMapper;
+import com.revature.yolp.daos.mappers.RowMapper;
+import com.revature.yolp.models.Receipt;
+import com.revature.yolp.utils.ConnectionFactory;
+import com.revature.yolp.utils.custom_exceptions.DataAccessException;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/* only receipt metadata goes in the db, the file itself is in the ReceiptStore */
+public class ReceiptDAO implements CrudDAO<Receipt> {
+    private final RowMapper<Receipt> receiptMapper = new ReceiptRowMapper();
+
+    /* a reimbursement has at most one receipt, uploading again replaces it, see replace() */
+    @Override
+    public void save(Receipt obj) {
+        replace(obj);
+    }
+
+    /*
+        saves the receipt and returns the hash of the one it replaced (null if it is the first), so the caller can let go of that file
+        the reimbursement's version is bumped in the same transaction, a manager who looked at it before the new receipt gets a conflict.
+        the bump comes first and locks the reimbursement, so concurrent uploads for it take turns and each sees the hash it replaces
+     */
+    public String replace(Receipt obj) {
+        try (Connection con = ConnectionFactory.getInstance().getConnection()) {
+            con.setAutoCommit(false);
+
+            PreparedStatement bump = con.prepareStatement("UPDATE reimbursements SET version = version + 1 WHERE id = ? AND status = 'PENDING'");
+            bump.setString(1, obj.getReimbursementId());
+            bump.executeUpdate();
+
+            PreparedStatement previous = con.prepareStatement("SELECT hash FROM receipts WHERE reimbursement_id = ?");
+            previous.setString(1, obj.getReimbursementId());
+            ResultSet rs = previous.executeQuery();
+            String previousHash = rs.next() ? rs.getString("hash") : null;
+
+            PreparedStatement ps = con.prepareStatement("INSERT INTO receipts (id, reimbursement_id, hash, content_type, size, uploaded) VALUES (?, ?, ?, ?, ?, ?) " +
+                    "ON CONFLICT (reimbursement_id) DO UPDATE SET id = EXCLUDED.id, hash = EXCLUDED.hash, content_type = EXCLUDED.content_type, size = EXCLUDED.size, uploaded = EXCLUDED.uploaded");
+            ps.setString(1, obj.getId());
+            ps.setString(2, obj.getReimbursementId());
+            ps.setString(3, obj.getHash());
+            ps.setString(4, obj.getContentType());
+            ps.setLong(5, obj.getSize());
+            ps.setTimestamp(6, obj.getUploaded());
+            ps.executeUpdate();
+
+            con.commit();
+            return previousHash;
+        } catch (SQLException e) {
+            /* the caller has already stored the file and needs to know the row is missing */
+            throw new DataAccessException("Could not save receipt for reimbursement " + obj.getReimbursementId(), e);
+        }
+    }
+
+    @Override
+    public void delete(Receipt obj) {
+
+    }
+
+    @Override
+    public void update(Receipt obj) {
+
+    }
+
+    @Override
+    public Receipt findById() {
+        return null;
+    }
+
+    @Override
+    public List<Receipt> findAll() {
+        List<Receipt> receipts = new ArrayList<>();
+
+        try (Connection con = ConnectionFactory.getInstance().getConnection()) {
+            PreparedStatement ps = con.prepareStatement("SELECT * FROM receipts");
+            ResultSet rs = ps.executeQuery();
+
+            receipts = RowMapper.mapAll(rs, receiptMapper);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        return receipts;
+    }
+
+    /* custom methods */
+
+    public Receipt findByReimbursementId(String reimbursementId) {
+        Receipt receipt = null;
+
+        try (Connection con = ConnectionFactory.getInstance().getConnection()) {
+            PreparedStatement ps = con.prepareStatement("SELECT * FROM receipts WHERE reimbursement_id = ?");
+            ps.setString(1, reimbursementId);
+            ResultSet rs = ps.executeQuery();
+
+            receipt = RowMapper.mapFirst(rs, receiptMapper);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        return receipt;
+    }
+
+    public boolean isHashReferenced(String hash) {
+        try (Connection con = ConnectionFactory.getInstance().getConnection()) {
+            PreparedStatement ps = con.prepareStatement("SELECT 1 FROM receipts WHERE hash = ? LIMIT 1");
+            ps.setString(1, hash);
+            return ps.executeQuery().next();
+        } catch (SQLException e) {
+            throw new DataAccessException("Could not look up receipt " + hash, e);
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package com.revature.yolp.daos;
+
+import com.revature.yolp.daos.mappers.ReimbursementRowMapper;
+import com.revature.yolp.daos.mappers.EnumLookup;
+import com.revature.yolp.daos.mappers.RowMapper;
+import com.revature.yolp.daos.mappers.RowReader;
+import com.revature.yolp.dtos.requests.ReimbursementVersion;
+import com.revature.yolp.dtos.responses.BulkResolveResult;
+import com.revature.yolp.dtos.responses.ResolveConflict;
+import com.revature.yolp.models.Reimbursement;
+import com.revature.yolp.models.ReimbursementStatus;
+import com.revature.yolp.utils.ConnectionFactory;
+import com.revature.yolp.utils.custom_exceptions.DataAccessException;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+public class ReimbursementDAO implements CrudDAO<Reimbursement> {
+    private static final EnumLookup<ReimbursementStatus> statuses = new EnumLookup<>(ReimbursementStatus.class);
+    private final RowMapper<Reimbursement> reimbursementMapper = new ReimbursementRowMapper();
+
+    /*
+        adds the approved rows of an "updated" cte (RETURNING status, resolved, type, author_id, amount) to the monthly rollups.
+        it runs in the same statement as the status change, so the rollups can never disagree with the tickets
+     */
+    private static final String ROLLUP_CTE =
+            "rolled AS (" +
+            "    INSERT INTO reimbursement_rollups (month, type, author_id, approved_count, approved_total)" +
+            "    SELECT date_trunc('month', resolved)::date, type, author_id, count(*), sum(amount) FROM updated WHERE status = 'APPROVED' GROUP BY 1, 2, 3" +
+            "    ON CONFLICT (month, type, author_id) DO UPDATE SET" +
+            "        approved_count = reimbursement_rollups.approved_count + EXCLUDED.approved_count," +
+            "        approved_total = reimbursement_rollups.approved_total + EXCLUDED.approved_total) ";
+
+    private static final String RESOLVE_SQL =
+            "WITH updated AS (" +
+            "    UPDATE reimbursements SET status = ?::reimbursement_status, resolver_id = ?, resolved = ?, version = version + 1" +
+            "    WHERE id = ? AND status = 'PENDING' AND author_id <> ?" +
+            "    RETURNING id, status, resolved, type, author_id, amount), " +
+            ROLLUP_CTE +
+            "SELECT count(*) FROM updated";
+
+    /*
+        resolves every (id, version) pair in one statement and returns the ids it changed
+        a row only changes if it is still PENDING, still at the version the caller saw, and not authored by the resolver.
+        the version is bumped by every change to a pending ticket (a resolve, a new receipt), so it catches edits, not just resolves
+     */
+    private static final String BULK_RESOLVE_SQL =
+            "WITH input AS (SELECT * FROM unnest(?::varchar[], ?::int[]) AS t (id, version)), " +
+            "updated AS (" +
+            "    UPDATE reimbursements r SET status = ?::reimbursement_status, resolver_id = ?, resolved = ?, version = r.version + 1" +
+            "    FROM input i WHERE r.id = i.id AND r.version = i.version AND r.status = 'PENDING' AND r.author_id <> ?" +
+            "    RETURNING r.id, r.status, r.resolved, r.type, r.author_id, r.amount), " +
+            ROLLUP_CTE +
+            "SELECT id FROM updated";
+
+    /*
+        the current state of the rows that were not resolved, read in a statement of its own: a select inside BULK_RESOLVE_SQL would
+        see the snapshot from before the update, and report a row lost to a concurrent resolver as still PENDING at its old version
+     */
+    private static final String CONFLICTS_SQL = "SELECT id, status, version, author_id FROM reimbursements WHERE id = ANY (?::varchar[])";
+
+    @Override
+    public void save(Reimbursement obj) {
+        try (Connection con = ConnectionFactory.getInstance().getConnection()) {
+            PreparedStatement ps = con.prepareStatement("INSERT INTO reimbursements (id, amount, submitted, resolved, description, author_id, resolver_id, status, type, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?::reimbursement_status, ?::reimbursement_type, ?)");
+            ps.setString(1, obj.getId());
+            ps.setBigDecimal(2, obj.getAmount());
+            ps.setTimestamp(3, obj.getSubmitted());
+            ps.setTimestamp(4, obj.getResolved());
+            ps.setString(5, obj.getDescription());
+            ps.setString(6, obj.getAuthorId());
+            ps.setString(7, obj.getResolverId());
+            ps.setString(8, String.valueOf(obj.getStatus()));
+            ps.setString(9, String.valueOf(obj.getType()));
+            ps.setInt(10, obj.getVersion());
+            ps.executeUpdate();
+        } catch (SQLException e) {
+            /* the caller would otherwise audit and queue a ticket that does not exist */
+            throw new DataAccessException("Could not save reimbursement " + obj.getId(), e);
+        }
+    }
+
+    @Override
+    public void delete(Reimbursement obj) {
+
+    }
+
+    @Override
+    public void update(Reimbursement obj) {
+
+    }
+
+    @Override
+    public Reimbursement findById() {
+        return null;
+    }
+
+    @Override
+    public List<Reimbursement> findAll() {
+        List<Reimbursement> reimbursements = new ArrayList<>();
+
+        try (Connection con = ConnectionFactory.getInstance().getConnection()) {
+            PreparedStatement ps = con.prepareStatement("SELECT " + ReimbursementQueryBuilder.COLUMNS + " FROM reimbursements");
+            ResultSet rs = ps.executeQuery();
+
+            reimbursements = RowMapper.mapAll(rs, reimbursementMapper);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        return reimbursements;
+    }
+
+    /* custom methods */
+
+    /* null if there is no such reimbursement, throws if the db could not be asked */
+    public Reimbursement findById(String id) {
+        try (Connection con = ConnectionFactory.getInstance().getConnection()) {
+            PreparedStatement ps = con.prepareStatement("SELECT " + ReimbursementQueryBuilder.COLUMNS + " FROM reimbursements WHERE id = ?");
+            ps.setString(1, id);
+            ResultSet rs = ps.executeQuery();
+
+            return RowMapper.mapFirst(rs, reimbursementMapper);
+        } catch (SQLException e) {
+            throw new DataAccessException("Could not load reimbursement " + id, e);
+        }
+    }
+
+    /* runs a query from ReimbursementQueryBuilder, throws rather than passing an outage off as an empty page */
+    public List<Reimbursement> findByQuery(SqlQuery query) {
+        try (Connection con = ConnectionFactory.getInstance().getConnection()) {
+            PreparedStatement ps = query.prepare(con);
+            ResultSet rs = ps.executeQuery();
+
+            return RowMapper.mapAll(rs, reimbursementMapper);
+        } catch (SQLException e) {
+            throw new DataAccessException("Could not query reimbursements", e);
+        }
+    }
+
+    /* throws instead of returning an empty list, the pending queue is seeded from this and treats it as the complete set */
+    public List<Reimbursement> findAllByStatus(ReimbursementStatus status) {
+        try (Connection con = ConnectionFactory.getInstance().getConnection()) {
+            PreparedStatement ps = con.prepareStatement("SELECT " + ReimbursementQueryBuilder.COLUMNS + " FROM reimbursements WHERE status = ?::reimbursement_status ORDER BY submitted, id");
+            ps.setString(1, String.valueOf(status));
+            ResultSet rs = ps.executeQuery();
+
+            return RowMapper.mapAll(rs, reimbursementMapper);
+        } catch (SQLException e) {
+            throw new DataAccessException("Could not load " + status + " reimbursements", e);
+        }
+    }
+
+    /* moves a PENDING reimbursement to APPROVED or DENIED, returns false if it was not pending or the resolver is its author (throws on db errors) */
+    /* approvals are added to the monthly rollups in the same statement */
+    public boolean resolve(String id, String resolverId, ReimbursementStatus status, Timestamp resolved) {
+        try (Connection con = ConnectionFactory.getInstance().getConnection()) {
+            PreparedStatement ps = con.prepareStatement(RESOLVE_SQL);
+            ps.setString(1, String.valueOf(status));
+            ps.setString(2, resolverId);
+            ps.setTimestamp(3, resolved);
+            ps.setString(4, id);
+            ps.setString(5, resolverId);
+            ResultSet rs = ps.executeQuery();
+            return rs.next() && rs.getInt(1) == 1;
+        } catch (SQLException e) {
+            throw new DataAccessException("Could not resolve reimbursement " + id, e);
+        }
+    }
+
+    /* set based version of resolve() for many reimbursements in one round trip, ids need to be distinct */
+    /* approvals are added to the monthly rollups in the same statement */
+    public BulkResolveResult resolveAll(List<ReimbursementVersion> targets, String resolverId, ReimbursementStatus status, Timestamp resolved) {
+        try (Connection con = ConnectionFactory.getInstance().getConnection()) {
+            return resolveAll(con, targets, resolverId, status, resolved);
+        } catch (SQLException e) {
+            throw new DataAccessException("Could not resolve " + targets.size() + " reimbursements", e);
+        }
+    }
+
+    /*
+        the update and the conflict lookup run in one transaction: if either fails nothing is resolved, so the caller never audits
+        approvals it can't report. read committed still gives the lookup a snapshot of its own, which includes whatever beat us to a row
+        package private so ReimbursementQueryBuilderTest can run it against a throwaway schema
+     */
+    BulkResolveResult resolveAll(Connection con, List<ReimbursementVersion> targets, String resolverId, ReimbursementStatus status, Timestamp resolved) throws SQLException {
+        BulkResolveResult result = new BulkResolveResult();
+
+        String[] ids = new String[targets.size()];
+        Integer[] versions = new Integer[targets.size()];
+        for (int i = 0; i < targets.size(); i++) {
+            ids[i] = targets.get(i).getId();
+            versions[i] = targets.get(i).getVersion();
+        }
+
+        con.setAutoCommit(false);
+        try {
+            PreparedStatement ps = con.prepareStatement(BULK_RESOLVE_SQL);
+            ps.setArray(1, con.createArrayOf("varchar", ids));
+            ps.setArray(2, con.createArrayOf("int4", versions));
+            ps.setString(3, String.valueOf(status));
+            ps.setString(4, resolverId);
+            ps.setTimestamp(5, resolved);
+            ps.setString(6, resolverId);
+            ResultSet rs = ps.executeQuery();
+
+            Set<String> resolvedIds = new HashSet<>();
+            while (rs.next()) resolvedIds.add(rs.getString("id"));
+
+            List<String> unresolved = new ArrayList<>();
+            for (String id : ids) {
+                if (resolvedIds.contains(id)) result.getResolved().add(id);
+                else unresolved.add(id);
+            }
+
+            if (!unresolved.isEmpty()) {
+                PreparedStatement current = con.prepareStatement(CONFLICTS_SQL);
+                current.setArray(1, con.createArrayOf("varchar", unresolved.toArray()));
+                ResultSet currentRows = current.executeQuery();
+                Map<String, ResolveConflict> found = new HashMap<>();
+                while (currentRows.next()) {
+                    String id = currentRows.getString("id");
+                    String authorId = currentRows.getString("author_id");
+                    ReimbursementStatus currentStatus = statuses.get(currentRows.getString("status"));
+                    int currentVersion = currentRows.getInt("version");
+
+                    ResolveConflict.Reason reason;
+                    if (currentStatus != ReimbursementStatus.PENDING) reason = ResolveConflict.Reason.NOT_PENDING;
+                    else if (authorId.equals(resolverId)) reason = ResolveConflict.Reason.OWN_REIMBURSEMENT;
+                    else reason = ResolveConflict.Reason.VERSION_MISMATCH;
+                    found.put(id, new ResolveConflict(id, reason, currentStatus, currentVersion));
+                }
+
+                for (String id : unresolved) {
+                    ResolveConflict conflict = found.get(id);
+                    result.getConflicts().add(conflict != null ? conflict : new ResolveConflict(id, ResolveConflict.Reason.NOT_FOUND, null, null));
+                }
+            }
+
+            con.commit();
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            con.rollback();
+            throw e;
+        } finally {
+            con.setAutoCommit(true);
+        }
+    }
+
+    /*
+        hands every reimbursement submitted in [from, to) to the consumer, in (submitted, id) order
+        with autocommit off and a fetch size the driver reads through a server side cursor, so memory use does not grow with the range
+        a failure part way through throws, the consumer has already seen some rows and must not mistake them for all of them
+     */
+    public void forEachSubmittedBetween(Timestamp from, Timestamp to, Consumer<Reimbursement> consumer) {
+        try (Connection con = ConnectionFactory.getInstance().getConnection()) {
+            con.setAutoCommit(false);
+            try {
+                PreparedStatement ps = con.prepareStatement("SELECT " + ReimbursementQueryBuilder.COLUMNS + " FROM reimbursements WHERE submitted >= ? AND submitted < ? ORDER BY submitted, id");
+                ps.setFetchSize(1000);
+                ps.setTimestamp(1, from);
+                ps.setTimestamp(2, to);
+                ResultSet rs = ps.executeQuery();
+
+                RowReader<Reimbursement> reader = reimbursementMapper.bind(rs);
+                while (rs.next()) consumer.accept(reader.read(rs));
+            } finally {
+                con.rollback();
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Could not read reimbursements submitted between " + from + " and " + to, e);
+        }
+    }
+}
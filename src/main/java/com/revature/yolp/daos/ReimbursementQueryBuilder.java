@@ -0,0 +1,124 @@
+package com.revature.yolp.daos;
+
+import com.revature.yolp.dtos.requests.ReimbursementFilter;
+import com.revature.yolp.models.Reimbursement;
+import com.revature.yolp.utils.custom_exceptions.InvalidReimbursementException;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/*
+ * purpose of ReimbursementQueryBuilder is to turn a ReimbursementFilter into parameterized sql with keyset pagination
+ *
+ * every query is scoped by author_id, resolver_id or status, and is ordered by (submitted, id) or (amount, id),
+ * so it can always be answered from one of the composite indexes in db/reimbursements.sql:
+ *     (author_id | resolver_id | status) + (submitted | amount) + id
+ * the other filters (type, date range, amount range) are applied on top of that index scan.
+ *
+ * instead of OFFSET, the next page starts after the last row of the previous one: (submitted, id) > (?, ?)
+ */
+public class ReimbursementQueryBuilder {
+    public static final String COLUMNS = "id, amount, submitted, resolved, description, author_id, resolver_id, status, type, version";
+
+    public SqlQuery build(ReimbursementFilter filter) {
+        List<String> conditions = new ArrayList<>();
+        List<Object> params = new ArrayList<>();
+
+        /* scope (leading index column) */
+        if (filter.getAuthorId() != null) {
+            conditions.add("author_id = ?");
+            params.add(filter.getAuthorId());
+        }
+        if (filter.getResolverId() != null) {
+            conditions.add("resolver_id = ?");
+            params.add(filter.getResolverId());
+        }
+        if (!filter.getStatuses().isEmpty()) {
+            conditions.add("status" + inList(filter.getStatuses(), "reimbursement_status", params));
+        }
+        if (conditions.isEmpty()) throw new InvalidReimbursementException("Query needs an author, resolver or status");
+
+        /* filters */
+        if (!filter.getTypes().isEmpty()) {
+            conditions.add("type" + inList(filter.getTypes(), "reimbursement_type", params));
+        }
+        if (filter.getSubmittedFrom() != null) {
+            conditions.add("submitted >= ?");
+            params.add(filter.getSubmittedFrom());
+        }
+        if (filter.getSubmittedTo() != null) {
+            conditions.add("submitted < ?");
+            params.add(filter.getSubmittedTo());
+        }
+        if (filter.getMinAmount() != null) {
+            conditions.add("amount >= ?");
+            params.add(filter.getMinAmount());
+        }
+        if (filter.getMaxAmount() != null) {
+            conditions.add("amount <= ?");
+            params.add(filter.getMaxAmount());
+        }
+
+        /* keyset */
+        String sortColumn = filter.getSortBy() == ReimbursementFilter.SortBy.AMOUNT ? "amount" : "submitted";
+        String direction = filter.isDescending() ? "DESC" : "ASC";
+        if (filter.getCursor() != null) {
+            Object[] cursor = decodeCursor(filter);
+            conditions.add("(" + sortColumn + ", id) " + (filter.isDescending() ? "<" : ">") + " (?, ?)");
+            params.add(cursor[0]);
+            params.add(cursor[1]);
+        }
+
+        /* one extra row tells us whether there is a next page */
+        params.add(filter.getLimit() + 1);
+
+        String sql = "SELECT " + COLUMNS + " FROM reimbursements" +
+                " WHERE " + String.join(" AND ", conditions) +
+                " ORDER BY " + sortColumn + " " + direction + ", id " + direction +
+                " LIMIT ?";
+
+        return new SqlQuery(sql, params);
+    }
+
+    /* cursor = base64("S|<submitted>|<id>") or base64("A|<amount>|<id>") of the last row on the page */
+    public String encodeCursor(ReimbursementFilter filter, Reimbursement last) {
+        String raw = filter.getSortBy() == ReimbursementFilter.SortBy.AMOUNT
+                ? "A|" + last.getAmount().toPlainString() + "|" + last.getId()
+                : "S|" + last.getSubmitted() + "|" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Object[] decodeCursor(ReimbursementFilter filter) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(filter.getCursor()), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 3);
+            if (parts.length != 3) throw new IllegalArgumentException(raw);
+
+            if (filter.getSortBy() == ReimbursementFilter.SortBy.AMOUNT && parts[0].equals("A")) {
+                return new Object[]{new BigDecimal(parts[1]), parts[2]};
+            }
+            if (filter.getSortBy() == ReimbursementFilter.SortBy.SUBMITTED && parts[0].equals("S")) {
+                return new Object[]{Timestamp.valueOf(parts[1]), parts[2]};
+            }
+            throw new IllegalArgumentException(raw);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidReimbursementException("Invalid cursor");
+        }
+    }
+
+    /* " = ?::type" for one value, " IN (?::type, ?::type)" for several */
+    private static String inList(List<? extends Enum<?>> values, String dbType, List<Object> params) {
+        StringBuilder sb = new StringBuilder(values.size() == 1 ? " = " : " IN (");
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) sb.append(", ");
+            sb.append("?::").append(dbType);
+            params.add(values.get(i).name());
+        }
+        if (values.size() > 1) sb.append(")");
+        return sb.toString();
+    }
+}
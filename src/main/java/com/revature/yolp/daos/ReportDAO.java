@@ -0,0 +1,51 @@
+package com.revature.yolp.daos;
+
+import com.revature.yolp.daos.mappers.EnumLookup;
+import com.revature.yolp.dtos.responses.SpendReportRow;
+import com.revature.yolp.models.ReimbursementType;
+import com.revature.yolp.utils.ConnectionFactory;
+import com.revature.yolp.utils.custom_exceptions.DataAccessException;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/* purpose of ReportDAO is to read spend reports from reimbursement_rollups only, never from the tickets themselves */
+public class ReportDAO {
+    private static final EnumLookup<ReimbursementType> types = new EnumLookup<>(ReimbursementType.class);
+
+    /* months are the first day of the month, from inclusive and to exclusive. throws rather than pass a db error off as a month without spend */
+    public List<SpendReportRow> findSpend(Date fromMonth, Date toMonth, boolean byType, boolean byEmployee, String authorId) {
+        List<SpendReportRow> rows = new ArrayList<>();
+
+        String groups = "month" + (byType ? ", type" : "") + (byEmployee ? ", author_id" : "");
+        String sql = "SELECT " + groups + ", sum(approved_count) AS approved_count, sum(approved_total) AS approved_total" +
+                " FROM reimbursement_rollups WHERE month >= ? AND month < ?" + (authorId != null ? " AND author_id = ?" : "") +
+                " GROUP BY " + groups + " ORDER BY " + groups;
+
+        try (Connection con = ConnectionFactory.getInstance().getConnection()) {
+            PreparedStatement ps = con.prepareStatement(sql);
+            ps.setDate(1, fromMonth);
+            ps.setDate(2, toMonth);
+            if (authorId != null) ps.setString(3, authorId);
+            ResultSet rs = ps.executeQuery();
+
+            while (rs.next()) {
+                rows.add(new SpendReportRow(
+                        rs.getDate("month").toLocalDate().toString().substring(0, 7),
+                        byType ? types.get(rs.getString("type")) : null,
+                        byEmployee ? rs.getString("author_id") : null,
+                        rs.getLong("approved_count"),
+                        rs.getBigDecimal("approved_total")));
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Could not load the spend report", e);
+        }
+
+        return rows;
+    }
+}
@@ -0,0 +1,45 @@
+package com.revature.yolp.daos;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+/* a generated sql statement and the values for its ? placeholders, in order */
+public class SqlQuery {
+    private final String sql;
+    private final List<Object> params;
+
+    public SqlQuery(String sql, List<Object> params) {
+        this.sql = sql;
+        this.params = params;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public List<Object> getParams() {
+        return params;
+    }
+
+    /* prepares the statement and binds every parameter, values are never concatenated into the sql */
+    public PreparedStatement prepare(Connection con) throws SQLException {
+        return prepare(con, "");
+    }
+
+    /* same as prepare but with a prefix, e.g. "EXPLAIN " */
+    public PreparedStatement prepare(Connection con, String prefix) throws SQLException {
+        PreparedStatement ps = con.prepareStatement(prefix + sql);
+        for (int i = 0; i < params.size(); i++) ps.setObject(i + 1, params.get(i));
+        return ps;
+    }
+
+    @Override
+    public String toString() {
+        return "SqlQuery{" +
+                "sql='" + sql + '\'' +
+                ", params=" + params +
+                '}';
+    }
+}
@@ -1,8 +1,11 @@
 package com.revature.yolp.daos;
 
-import com.revature.yolp.models.Role;
+import com.revature.yolp.daos.mappers.RowMapper;
+import com.revature.yolp.daos.mappers.UserRowMapper;
 import com.revature.yolp.models.User;
 import com.revature.yolp.utils.ConnectionFactory;
+import com.revature.yolp.utils.custom_exceptions.DataAccessException;
+import com.revature.yolp.utils.custom_exceptions.InvalidUserException;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
@@ -10,10 +13,15 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.BiConsumer;
 
 /* purpose of UserDAO is to return data from the database */
 /* DAO = DATA ACCESS OBJECT */
 public class UserDAO implements CrudDAO<User>{
+    /* row mappers resolve column indexes once per query instead of once per row */
+    private final RowMapper<User> userMapper = new UserRowMapper();
+    private final RowMapper<String> usernameMapper = RowMapper.stringColumn("username");
+
     @Override
     public void save(User obj) {
         try (Connection con = ConnectionFactory.getInstance().getConnection()) {
@@ -25,7 +33,9 @@ public class UserDAO implements CrudDAO<User>{
             ps.setString(4, String.valueOf(obj.getRole()));
             ps.executeUpdate();
         } catch (SQLException e) {
-            e.printStackTrace();
+            /* unique_violation: users.username is UNIQUE, so two signups racing for one name can't both get in */
+            if ("23505".equals(e.getSQLState())) throw new InvalidUserException("Username is already taken");
+            throw new DataAccessException("Could not save user " + obj.getUsername(), e);
         }
     }
 
@@ -46,41 +56,83 @@ public class UserDAO implements CrudDAO<User>{
 
     @Override
     public List<User> findAll() {
-        List<User> users = new ArrayList<>();
-
         try (Connection con = ConnectionFactory.getInstance().getConnection()) {
             PreparedStatement ps = con.prepareStatement("SELECT * from users");
             ResultSet rs = ps.executeQuery();
 
-            while (rs.next()) {
-                User currentUser = new User(rs.getString("id"), rs.getString("username"), rs.getString("password"), Role.valueOf(rs.getString("role")));
-                users.add(currentUser);
-            }
+            List<User> users = RowMapper.mapAll(rs, userMapper);
+            return users;
         } catch (SQLException e) {
             e.printStackTrace();
         }
 
-        return users;
+        return new ArrayList<>();
     }
 
     /* custom methods */
 
     public List<String> findAllUsernames() {
-        List<String> usernames = new ArrayList<>();
-
         try (Connection con = ConnectionFactory.getInstance().getConnection()) {
             PreparedStatement ps = con.prepareStatement("SELECT (username) from users");
             ResultSet rs = ps.executeQuery();
 
-            while (rs.next()) {
-                String currentUsername = rs.getString("username");
-                usernames.add(currentUsername);
-            }
+            List<String> usernames = RowMapper.mapAll(rs, usernameMapper);
+            return usernames;
         } catch (SQLException e) {
             e.printStackTrace();
         }
 
-        return usernames;
+        return new ArrayList<>();
+    }
+
+    /*
+        hands every (username, id) pair to the consumer, used to (re)build the UsernameDirectory
+        streamed through a server side cursor like ReimbursementDAO.forEachSubmittedBetween, so it works for any number of users
+     */
+    public void forEachUsernameAndId(BiConsumer<String, String> consumer) {
+        try (Connection con = ConnectionFactory.getInstance().getConnection()) {
+            con.setAutoCommit(false);
+            try {
+                PreparedStatement ps = con.prepareStatement("SELECT id, username FROM users");
+                ps.setFetchSize(1000);
+                ResultSet rs = ps.executeQuery();
+
+                int id = rs.findColumn("id");
+                int username = rs.findColumn("username");
+                while (rs.next()) consumer.accept(rs.getString(username), rs.getString(id));
+            } finally {
+                con.rollback();
+            }
+        } catch (SQLException e) {
+            /* a half loaded directory would let duplicates through, so fail the warm-up phase instead */
+            throw new DataAccessException("Could not read usernames", e);
+        }
+    }
+
+    /* null if there is no such user, throws if the db could not be asked */
+    public User findById(String id) {
+        try (Connection con = ConnectionFactory.getInstance().getConnection()) {
+            PreparedStatement ps = con.prepareStatement("SELECT * FROM users WHERE id = ?");
+            ps.setString(1, id);
+            ResultSet rs = ps.executeQuery();
+
+            return RowMapper.mapFirst(rs, userMapper);
+        } catch (SQLException e) {
+            throw new DataAccessException("Could not load user " + id, e);
+        }
+    }
+
+    /* id of the user with this username, null if it is free */
+    public String findIdByUsername(String username) {
+        try (Connection con = ConnectionFactory.getInstance().getConnection()) {
+            PreparedStatement ps = con.prepareStatement("SELECT id FROM users WHERE username = ?");
+            ps.setString(1, username);
+            ResultSet rs = ps.executeQuery();
+
+            return rs.next() ? rs.getString("id") : null;
+        } catch (SQLException e) {
+            throw new DataAccessException("Could not look up username " + username, e);
+        }
     }
 
     public User getUserByUsernameAndPassword(String username, String password) {
@@ -91,9 +143,7 @@ public class UserDAO implements CrudDAO<User>{
             ps.setString(2, password);
             ResultSet rs = ps.executeQuery();
 
-            if (rs.next()) {
-                user = new User(rs.getString("id"), rs.getString("username"), rs.getString("password"), Role.valueOf(rs.getString("role")));
-            }
+            user = RowMapper.mapFirst(rs, userMapper);
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -101,19 +151,16 @@ public class UserDAO implements CrudDAO<User>{
     }
 
     public List<User> getAllUsersByUsername(String username) {
-        List<User> users = new ArrayList<>();
         try (Connection con = ConnectionFactory.getInstance().getConnection()) {
             PreparedStatement ps = con.prepareStatement("SELECT * FROM users WHERE username LIKE ?");
             ps.setString(1, username + "%");
             ResultSet rs = ps.executeQuery();
 
-            while (rs.next()) {
-                User user = new User(rs.getString("id"), rs.getString("username"), rs.getString("password"), Role.valueOf(rs.getString("role")));
-                users.add(user);
-            }
+            List<User> users = RowMapper.mapAll(rs, userMapper);
+            return users;
         } catch (SQLException e) {
             e.printStackTrace();
         }
-        return users;
+        return new ArrayList<>();
     }
 }
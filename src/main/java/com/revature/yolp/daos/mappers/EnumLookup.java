@@ -0,0 +1,23 @@
+package com.revature.yolp.daos.mappers;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/* purpose of EnumLookup is to turn db enum labels into java enums without going through Enum.valueOf on every row */
+public class EnumLookup<E extends Enum<E>> {
+    private final Class<E> type;
+    private final Map<String, E> constants = new HashMap<>();
+
+    public EnumLookup(Class<E> type) {
+        this.type = type;
+        for (E constant : type.getEnumConstants()) constants.put(constant.name(), constant);
+    }
+
+    /* null labels map to null, unknown labels fail the same way valueOf does */
+    public E get(String label) {
+        if (label == null) return null;
+        E constant = constants.get(label);
+        if (constant == null) throw new IllegalArgumentException("No enum constant " + type.getName() + "." + label);
+        return constant;
+    }
+}
@@ -0,0 +1,21 @@
+package com.revature.yolp.daos.mappers;
+
+import com.revature.yolp.models.Receipt;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/* maps rows of the receipts table into Receipt objects */
+public class ReceiptRowMapper implements RowMapper<Receipt> {
+    @Override
+    public RowReader<Receipt> bind(ResultSet rs) throws SQLException {
+        final int id = rs.findColumn("id");
+        final int reimbursementId = rs.findColumn("reimbursement_id");
+        final int hash = rs.findColumn("hash");
+        final int contentType = rs.findColumn("content_type");
+        final int size = rs.findColumn("size");
+        final int uploaded = rs.findColumn("uploaded");
+
+        return row -> new Receipt(row.getString(id), row.getString(reimbursementId), row.getString(hash), row.getString(contentType), row.getLong(size), row.getTimestamp(uploaded));
+    }
+}
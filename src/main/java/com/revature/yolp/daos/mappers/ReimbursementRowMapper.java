@@ -0,0 +1,41 @@
+package com.revature.yolp.daos.mappers;
+
+import com.revature.yolp.models.Reimbursement;
+import com.revature.yolp.models.ReimbursementStatus;
+import com.revature.yolp.models.ReimbursementType;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/* maps rows of the reimbursements table into Reimbursement objects */
+public class ReimbursementRowMapper implements RowMapper<Reimbursement> {
+    private static final EnumLookup<ReimbursementStatus> statuses = new EnumLookup<>(ReimbursementStatus.class);
+    private static final EnumLookup<ReimbursementType> types = new EnumLookup<>(ReimbursementType.class);
+
+    @Override
+    public RowReader<Reimbursement> bind(ResultSet rs) throws SQLException {
+        final int id = rs.findColumn("id");
+        final int amount = rs.findColumn("amount");
+        final int submitted = rs.findColumn("submitted");
+        final int resolved = rs.findColumn("resolved");
+        final int description = rs.findColumn("description");
+        final int authorId = rs.findColumn("author_id");
+        final int resolverId = rs.findColumn("resolver_id");
+        final int status = rs.findColumn("status");
+        final int type = rs.findColumn("type");
+        final int version = rs.findColumn("version");
+
+        return row -> new Reimbursement(
+                row.getString(id),
+                row.getBigDecimal(amount),
+                row.getTimestamp(submitted),
+                row.getTimestamp(resolved),
+                row.getString(description),
+                row.getString(authorId),
+                row.getString(resolverId),
+                statuses.get(row.getString(status)),
+                types.get(row.getString(type)),
+                row.getInt(version)
+        );
+    }
+}
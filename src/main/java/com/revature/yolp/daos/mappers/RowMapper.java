@@ -0,0 +1,34 @@
+package com.revature.yolp.daos.mappers;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/* purpose of RowMapper is to turn the rows of a ResultSet into models */
+/* column indexes are looked up once per ResultSet in bind(), so the per row work is only index based getters */
+public interface RowMapper<T> {
+    RowReader<T> bind(ResultSet rs) throws SQLException;
+
+    /* maps every remaining row of the result set */
+    static <T> List<T> mapAll(ResultSet rs, RowMapper<T> mapper) throws SQLException {
+        List<T> results = new ArrayList<>();
+        RowReader<T> reader = mapper.bind(rs);
+        while (rs.next()) results.add(reader.read(rs));
+        return results;
+    }
+
+    /* maps the next row of the result set, or returns null if there is none */
+    static <T> T mapFirst(ResultSet rs, RowMapper<T> mapper) throws SQLException {
+        if (!rs.next()) return null;
+        return mapper.bind(rs).read(rs);
+    }
+
+    /* mapper for queries that only need one string column, e.g. SELECT username FROM users */
+    static RowMapper<String> stringColumn(String label) {
+        return rs -> {
+            int index = rs.findColumn(label);
+            return row -> row.getString(index);
+        };
+    }
+}
@@ -0,0 +1,10 @@
+package com.revature.yolp.daos.mappers;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/* a RowMapper that has already resolved its column indexes for one ResultSet */
+@FunctionalInterface
+public interface RowReader<T> {
+    T read(ResultSet rs) throws SQLException;
+}
@@ -0,0 +1,22 @@
+package com.revature.yolp.daos.mappers;
+
+import com.revature.yolp.models.Role;
+import com.revature.yolp.models.User;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/* maps rows of the users table (id, username, password, role) into User objects */
+public class UserRowMapper implements RowMapper<User> {
+    private static final EnumLookup<Role> roles = new EnumLookup<>(Role.class);
+
+    @Override
+    public RowReader<User> bind(ResultSet rs) throws SQLException {
+        final int id = rs.findColumn("id");
+        final int username = rs.findColumn("username");
+        final int password = rs.findColumn("password");
+        final int role = rs.findColumn("role");
+
+        return row -> new User(row.getString(id), row.getString(username), row.getString(password), roles.get(row.getString(role)));
+    }
+}
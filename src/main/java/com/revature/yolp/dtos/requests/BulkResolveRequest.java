@@ -0,0 +1,42 @@
+package com.revature.yolp.dtos.requests;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BulkResolveRequest {
+    private String status;
+    private List<ReimbursementVersion> reimbursements = new ArrayList<>();
+
+    public BulkResolveRequest() {
+        super();
+    }
+
+    public BulkResolveRequest(String status, List<ReimbursementVersion> reimbursements) {
+        this.status = status;
+        this.reimbursements = reimbursements;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public List<ReimbursementVersion> getReimbursements() {
+        return reimbursements;
+    }
+
+    public void setReimbursements(List<ReimbursementVersion> reimbursements) {
+        this.reimbursements = reimbursements;
+    }
+
+    @Override
+    public String toString() {
+        return "BulkResolveRequest{" +
+                "status='" + status + '\'' +
+                ", reimbursements=" + reimbursements +
+                '}';
+    }
+}
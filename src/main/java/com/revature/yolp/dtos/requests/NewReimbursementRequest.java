@@ -0,0 +1,52 @@
+package com.revature.yolp.dtos.requests;
+
+import java.math.BigDecimal;
+
+public class NewReimbursementRequest {
+    private BigDecimal amount;
+    private String description;
+    private String type;
+
+    public NewReimbursementRequest() {
+        super();
+    }
+
+    public NewReimbursementRequest(BigDecimal amount, String description, String type) {
+        this.amount = amount;
+        this.description = description;
+        this.type = type;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    @Override
+    public String toString() {
+        return "NewReimbursementRequest{" +
+                "amount=" + amount +
+                ", description='" + description + '\'' +
+                ", type='" + type + '\'' +
+                '}';
+    }
+}
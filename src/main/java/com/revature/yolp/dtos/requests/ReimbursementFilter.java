@@ -0,0 +1,148 @@
+package com.revature.yolp.dtos.requests;
+
+import com.revature.yolp.models.ReimbursementStatus;
+import com.revature.yolp.models.ReimbursementType;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/* filter, sort and page parameters for reimbursement history queries */
+/* submittedFrom is inclusive and submittedTo is exclusive */
+public class ReimbursementFilter {
+    public enum SortBy {
+        SUBMITTED, AMOUNT
+    }
+
+    private String authorId;
+    private String resolverId;
+    private List<ReimbursementStatus> statuses = new ArrayList<>();
+    private List<ReimbursementType> types = new ArrayList<>();
+    private Timestamp submittedFrom;
+    private Timestamp submittedTo;
+    private BigDecimal minAmount;
+    private BigDecimal maxAmount;
+    private SortBy sortBy = SortBy.SUBMITTED;
+    private boolean descending;
+    private int limit = 25;
+    private String cursor;
+
+    public ReimbursementFilter() {
+        super();
+    }
+
+    public String getAuthorId() {
+        return authorId;
+    }
+
+    public void setAuthorId(String authorId) {
+        this.authorId = authorId;
+    }
+
+    public String getResolverId() {
+        return resolverId;
+    }
+
+    public void setResolverId(String resolverId) {
+        this.resolverId = resolverId;
+    }
+
+    public List<ReimbursementStatus> getStatuses() {
+        return statuses;
+    }
+
+    public void setStatuses(List<ReimbursementStatus> statuses) {
+        this.statuses = statuses;
+    }
+
+    public List<ReimbursementType> getTypes() {
+        return types;
+    }
+
+    public void setTypes(List<ReimbursementType> types) {
+        this.types = types;
+    }
+
+    public Timestamp getSubmittedFrom() {
+        return submittedFrom;
+    }
+
+    public void setSubmittedFrom(Timestamp submittedFrom) {
+        this.submittedFrom = submittedFrom;
+    }
+
+    public Timestamp getSubmittedTo() {
+        return submittedTo;
+    }
+
+    public void setSubmittedTo(Timestamp submittedTo) {
+        this.submittedTo = submittedTo;
+    }
+
+    public BigDecimal getMinAmount() {
+        return minAmount;
+    }
+
+    public void setMinAmount(BigDecimal minAmount) {
+        this.minAmount = minAmount;
+    }
+
+    public BigDecimal getMaxAmount() {
+        return maxAmount;
+    }
+
+    public void setMaxAmount(BigDecimal maxAmount) {
+        this.maxAmount = maxAmount;
+    }
+
+    public SortBy getSortBy() {
+        return sortBy;
+    }
+
+    public void setSortBy(SortBy sortBy) {
+        this.sortBy = sortBy;
+    }
+
+    public boolean isDescending() {
+        return descending;
+    }
+
+    public void setDescending(boolean descending) {
+        this.descending = descending;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    @Override
+    public String toString() {
+        return "ReimbursementFilter{" +
+                "authorId='" + authorId + '\'' +
+                ", resolverId='" + resolverId + '\'' +
+                ", statuses=" + statuses +
+                ", types=" + types +
+                ", submittedFrom=" + submittedFrom +
+                ", submittedTo=" + submittedTo +
+                ", minAmount=" + minAmount +
+                ", maxAmount=" + maxAmount +
+                ", sortBy=" + sortBy +
+                ", descending=" + descending +
+                ", limit=" + limit +
+                ", cursor='" + cursor + '\'' +
+                '}';
+    }
+}
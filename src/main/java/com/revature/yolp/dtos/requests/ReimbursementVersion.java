@@ -0,0 +1,40 @@
+package com.revature.yolp.dtos.requests;
+
+/* a reimbursement id and the version the caller last saw */
+public class ReimbursementVersion {
+    private String id;
+    private int version;
+
+    public ReimbursementVersion() {
+        super();
+    }
+
+    public ReimbursementVersion(String id, int version) {
+        this.id = id;
+        this.version = version;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public void setVersion(int version) {
+        this.version = version;
+    }
+
+    @Override
+    public String toString() {
+        return "ReimbursementVersion{" +
+                "id='" + id + '\'' +
+                ", version=" + version +
+                '}';
+    }
+}
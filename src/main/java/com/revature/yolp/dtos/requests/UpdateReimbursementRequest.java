@@ -0,0 +1,28 @@
+package com.revature.yolp.dtos.requests;
+
+public class UpdateReimbursementRequest {
+    private String status;
+
+    public UpdateReimbursementRequest() {
+        super();
+    }
+
+    public UpdateReimbursementRequest(String status) {
+        this.status = status;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    @Override
+    public String toString() {
+        return "UpdateReimbursementRequest{" +
+                "status='" + status + '\'' +
+                '}';
+    }
+}
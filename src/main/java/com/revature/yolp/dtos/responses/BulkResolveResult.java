@@ -0,0 +1,42 @@
+package com.revature.yolp.dtos.responses;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BulkResolveResult {
+    private List<String> resolved = new ArrayList<>();
+    private List<ResolveConflict> conflicts = new ArrayList<>();
+
+    public BulkResolveResult() {
+        super();
+    }
+
+    public BulkResolveResult(List<String> resolved, List<ResolveConflict> conflicts) {
+        this.resolved = resolved;
+        this.conflicts = conflicts;
+    }
+
+    public List<String> getResolved() {
+        return resolved;
+    }
+
+    public void setResolved(List<String> resolved) {
+        this.resolved = resolved;
+    }
+
+    public List<ResolveConflict> getConflicts() {
+        return conflicts;
+    }
+
+    public void setConflicts(List<ResolveConflict> conflicts) {
+        this.conflicts = conflicts;
+    }
+
+    @Override
+    public String toString() {
+        return "BulkResolveResult{" +
+                "resolved=" + resolved +
+                ", conflicts=" + conflicts +
+                '}';
+    }
+}
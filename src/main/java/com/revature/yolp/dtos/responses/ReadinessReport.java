@@ -0,0 +1,42 @@
+package com.revature.yolp.dtos.responses;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ReadinessReport {
+    private boolean ready;
+    private List<StartupPhase> phases = new ArrayList<>();
+
+    public ReadinessReport() {
+        super();
+    }
+
+    public ReadinessReport(boolean ready, List<StartupPhase> phases) {
+        this.ready = ready;
+        this.phases = phases;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void setReady(boolean ready) {
+        this.ready = ready;
+    }
+
+    public List<StartupPhase> getPhases() {
+        return phases;
+    }
+
+    public void setPhases(List<StartupPhase> phases) {
+        this.phases = phases;
+    }
+
+    @Override
+    public String toString() {
+        return "ReadinessReport{" +
+                "ready=" + ready +
+                ", phases=" + phases +
+                '}';
+    }
+}
@@ -0,0 +1,44 @@
+package com.revature.yolp.dtos.responses;
+
+import com.revature.yolp.models.Reimbursement;
+
+import java.util.List;
+
+/* one keyset page of reimbursements, nextCursor is null on the last page */
+public class ReimbursementPage {
+    private List<Reimbursement> reimbursements;
+    private String nextCursor;
+
+    public ReimbursementPage() {
+        super();
+    }
+
+    public ReimbursementPage(List<Reimbursement> reimbursements, String nextCursor) {
+        this.reimbursements = reimbursements;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Reimbursement> getReimbursements() {
+        return reimbursements;
+    }
+
+    public void setReimbursements(List<Reimbursement> reimbursements) {
+        this.reimbursements = reimbursements;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    @Override
+    public String toString() {
+        return "ReimbursementPage{" +
+                "reimbursements=" + reimbursements +
+                ", nextCursor='" + nextCursor + '\'' +
+                '}';
+    }
+}
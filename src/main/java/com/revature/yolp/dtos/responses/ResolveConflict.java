@@ -0,0 +1,68 @@
+package com.revature.yolp.dtos.responses;
+
+import com.revature.yolp.models.ReimbursementStatus;
+
+/* why one reimbursement of a bulk resolve was not changed */
+public class ResolveConflict {
+    public enum Reason {
+        NOT_FOUND, NOT_PENDING, VERSION_MISMATCH, OWN_REIMBURSEMENT
+    }
+
+    private String id;
+    private Reason reason;
+    private ReimbursementStatus currentStatus;
+    private Integer currentVersion;
+
+    public ResolveConflict() {
+        super();
+    }
+
+    public ResolveConflict(String id, Reason reason, ReimbursementStatus currentStatus, Integer currentVersion) {
+        this.id = id;
+        this.reason = reason;
+        this.currentStatus = currentStatus;
+        this.currentVersion = currentVersion;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+
+    public void setReason(Reason reason) {
+        this.reason = reason;
+    }
+
+    public ReimbursementStatus getCurrentStatus() {
+        return currentStatus;
+    }
+
+    public void setCurrentStatus(ReimbursementStatus currentStatus) {
+        this.currentStatus = currentStatus;
+    }
+
+    public Integer getCurrentVersion() {
+        return currentVersion;
+    }
+
+    public void setCurrentVersion(Integer currentVersion) {
+        this.currentVersion = currentVersion;
+    }
+
+    @Override
+    public String toString() {
+        return "ResolveConflict{" +
+                "id='" + id + '\'' +
+                ", reason=" + reason +
+                ", currentStatus=" + currentStatus +
+                ", currentVersion=" + currentVersion +
+                '}';
+    }
+}
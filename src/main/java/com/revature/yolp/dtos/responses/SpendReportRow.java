@@ -0,0 +1,77 @@
+package com.revature.yolp.dtos.responses;
+
+import com.revature.yolp.models.ReimbursementType;
+
+import java.math.BigDecimal;
+
+/* approved spend for one month, optionally split by type and/or employee (null when not grouped by it) */
+public class SpendReportRow {
+    private String month;
+    private ReimbursementType type;
+    private String authorId;
+    private long approvedCount;
+    private BigDecimal approvedTotal;
+
+    public SpendReportRow() {
+        super();
+    }
+
+    public SpendReportRow(String month, ReimbursementType type, String authorId, long approvedCount, BigDecimal approvedTotal) {
+        this.month = month;
+        this.type = type;
+        this.authorId = authorId;
+        this.approvedCount = approvedCount;
+        this.approvedTotal = approvedTotal;
+    }
+
+    public String getMonth() {
+        return month;
+    }
+
+    public void setMonth(String month) {
+        this.month = month;
+    }
+
+    public ReimbursementType getType() {
+        return type;
+    }
+
+    public void setType(ReimbursementType type) {
+        this.type = type;
+    }
+
+    public String getAuthorId() {
+        return authorId;
+    }
+
+    public void setAuthorId(String authorId) {
+        this.authorId = authorId;
+    }
+
+    public long getApprovedCount() {
+        return approvedCount;
+    }
+
+    public void setApprovedCount(long approvedCount) {
+        this.approvedCount = approvedCount;
+    }
+
+    public BigDecimal getApprovedTotal() {
+        return approvedTotal;
+    }
+
+    public void setApprovedTotal(BigDecimal approvedTotal) {
+        this.approvedTotal = approvedTotal;
+    }
+
+    @Override
+    public String toString() {
+        return "SpendReportRow{" +
+                "month='" + month + '\'' +
+                ", type=" + type +
+                ", authorId='" + authorId + '\'' +
+                ", approvedCount=" + approvedCount +
+                ", approvedTotal=" + approvedTotal +
+                '}';
+    }
+}
@@ -0,0 +1,50 @@
+package com.revature.yolp.dtos.responses;
+
+public class StartupPhase {
+    private String name;
+    private long millis;
+    private String error;
+
+    public StartupPhase() {
+        super();
+    }
+
+    public StartupPhase(String name, long millis, String error) {
+        this.name = name;
+        this.millis = millis;
+        this.error = error;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public long getMillis() {
+        return millis;
+    }
+
+    public void setMillis(long millis) {
+        this.millis = millis;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    @Override
+    public String toString() {
+        return "StartupPhase{" +
+                "name='" + name + '\'' +
+                ", millis=" + millis +
+                ", error='" + error + '\'' +
+                '}';
+    }
+}
@@ -1,15 +1,15 @@
 package com.revature.yolp.handlers;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.revature.yolp.dtos.requests.NewLoginRequest;
 import com.revature.yolp.dtos.responses.Principal;
-import com.revature.yolp.models.User;
 import com.revature.yolp.services.TokenService;
 import com.revature.yolp.services.UserService;
+import com.revature.yolp.utils.BodyCodec;
+import com.revature.yolp.utils.custom_exceptions.DataAccessException;
 import com.revature.yolp.utils.custom_exceptions.InvalidAuthException;
+import com.revature.yolp.utils.logging.AsyncLogger;
 import io.javalin.http.Context;
 import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 
@@ -18,17 +18,17 @@ public class AuthHandler {
     /* dependency injections */
     private final UserService userService;
     private final TokenService tokenService;
-    private final ObjectMapper mapper;
-    private static final Logger logger = LoggerFactory.getLogger(User.class);
+    private final BodyCodec codec;
+    private static final Logger logger = AsyncLogger.getLogger(AuthHandler.class);
 
-    public AuthHandler(UserService userService, TokenService tokenService, ObjectMapper mapper) {
+    public AuthHandler(UserService userService, TokenService tokenService, BodyCodec codec) {
         this.userService = userService;
         this.tokenService = tokenService;
-        this.mapper = mapper;
+        this.codec = codec;
     }
 
     public void authenticateUser(Context ctx) throws IOException {
-        NewLoginRequest req = mapper.readValue(ctx.req.getInputStream(), NewLoginRequest.class);
+        NewLoginRequest req = codec.read(ctx, NewLoginRequest.class);
         logger.info("Attempting to login...");
         try {
             Principal principal = userService.login(req);
@@ -40,7 +40,7 @@ public class AuthHandler {
             ctx.res.setHeader("authorization", token);
 
             /* return the principal obj as json */
-            ctx.json(principal);
+            codec.write(ctx, principal);
 
             ctx.status(202); // ACCEPTED
 
@@ -50,4 +50,20 @@ public class AuthHandler {
             ctx.json(e);
         }
     }
+
+    /* POST /auth/refresh, trades the token in the authorization header for a fresh one */
+    public void refresh(Context ctx) throws IOException {
+        try {
+            String token = tokenService.refreshToken(ctx.req.getHeader("authorization"));
+            ctx.res.setHeader("authorization", token);
+            codec.write(ctx, tokenService.extractRequesterDetails(token));
+            ctx.status(200);
+        } catch (InvalidAuthException e) {
+            ctx.status(401);
+            ctx.json(e);
+        } catch (DataAccessException e) {
+            ctx.status(500); // INTERNAL SERVER ERROR
+            ctx.json(e);
+        }
+    }
 }
@@ -0,0 +1,26 @@
+package com.revature.yolp.handlers;
+
+import com.revature.yolp.dtos.responses.ReadinessReport;
+import com.revature.yolp.utils.StartupSequence;
+import io.javalin.http.Context;
+
+/* purpose of this HealthHandler class is to tell the load balancer whether this instance is alive and ready for traffic */
+public class HealthHandler {
+    private final StartupSequence startupSequence;
+
+    public HealthHandler(StartupSequence startupSequence) {
+        this.startupSequence = startupSequence;
+    }
+
+    /* GET /health/live: the process is up and jetty answers, 503 once startup has given up so the process gets restarted */
+    public void live(Context ctx) {
+        ctx.status(startupSequence.isLive() ? 200 : 503); // SERVICE UNAVAILABLE
+    }
+
+    /* GET /health/ready: 503 until every startup phase has finished, with the phase timings either way */
+    public void ready(Context ctx) {
+        boolean ready = startupSequence.isReady();
+        ctx.status(ready ? 200 : 503); // SERVICE UNAVAILABLE
+        ctx.json(new ReadinessReport(ready, startupSequence.getPhases()));
+    }
+}
@@ -0,0 +1,137 @@
+package com.revature.yolp.handlers;
+
+import com.revature.yolp.dtos.responses.Principal;
+import com.revature.yolp.models.Receipt;
+import com.revature.yolp.services.ReceiptService;
+import com.revature.yolp.services.TokenService;
+import com.revature.yolp.utils.BodyCodec;
+import com.revature.yolp.utils.ByteRange;
+import com.revature.yolp.utils.EntityTags;
+import com.revature.yolp.utils.custom_exceptions.DataAccessException;
+import com.revature.yolp.utils.custom_exceptions.InvalidAuthException;
+import com.revature.yolp.utils.custom_exceptions.InvalidReceiptException;
+import com.revature.yolp.utils.custom_exceptions.PayloadTooLargeException;
+import com.revature.yolp.utils.logging.AsyncLogger;
+import io.javalin.http.Context;
+import org.eclipse.jetty.server.HttpOutput;
+import org.eclipse.jetty.server.Request;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+
+/* purpose of this ReceiptHandler class is to stream receipt files in and out without buffering them on the heap */
+public class ReceiptHandler {
+    private final ReceiptService receiptService;
+    private final TokenService tokenService;
+    private final BodyCodec codec;
+    private final static Logger logger = AsyncLogger.getLogger(ReceiptHandler.class);
+
+    public ReceiptHandler(ReceiptService receiptService, TokenService tokenService, BodyCodec codec) {
+        this.receiptService = receiptService;
+        this.tokenService = tokenService;
+        this.codec = codec;
+    }
+
+    /* PUT /reimbursements/{id}/receipt with the raw image as the body and its Content-Type, e.g. image/png */
+    public void upload(Context ctx) throws IOException {
+        try {
+            Principal principal = requireRequester(ctx);
+
+            /* reject oversized bodies before reading them, chunked bodies are cut off by the store */
+            if (ctx.req.getContentLengthLong() > ReceiptService.MAX_RECEIPT_BYTES)
+                throw new PayloadTooLargeException("Receipt is larger than " + ReceiptService.MAX_RECEIPT_BYTES + " bytes");
+
+            Receipt receipt = receiptService.upload(principal, ctx.pathParam("id"), ctx.req.getContentType(), ctx.req.getInputStream());
+
+            ctx.status(201); // CREATED
+            codec.write(ctx, receipt);
+            logger.info("Receipt uploaded...");
+        } catch (InvalidAuthException e) {
+            ctx.status(401);
+            ctx.json(e);
+        } catch (InvalidReceiptException e) {
+            ctx.status(400); // BAD REQUEST
+            ctx.json(e);
+        } catch (PayloadTooLargeException e) {
+            ctx.status(413); // PAYLOAD TOO LARGE
+            ctx.json(e);
+        } catch (DataAccessException e) {
+            ctx.status(500); // INTERNAL SERVER ERROR
+            ctx.json(e);
+        }
+    }
+
+    /* GET /reimbursements/{id}/receipt, supports single byte ranges and conditional requests */
+    public void download(Context ctx) throws IOException {
+        Receipt receipt;
+        try {
+            Principal principal = requireRequester(ctx);
+            receipt = receiptService.getReceipt(principal, ctx.pathParam("id"));
+        } catch (InvalidAuthException e) {
+            ctx.status(401);
+            ctx.json(e);
+            return;
+        } catch (InvalidReceiptException e) {
+            ctx.status(404); // NOT FOUND
+            ctx.json(e);
+            return;
+        } catch (DataAccessException e) {
+            ctx.status(500); // INTERNAL SERVER ERROR
+            ctx.json(e);
+            return;
+        }
+
+        /* files are content addressed, so the hash is a strong etag and the bytes behind it never change */
+        String etag = "\"" + receipt.getHash() + "\"";
+        ctx.header("ETag", etag);
+        ctx.header("Cache-Control", "private, max-age=31536000, immutable");
+        ctx.header("Accept-Ranges", "bytes");
+
+        if (EntityTags.noneMatchHits(ctx.req.getHeader("If-None-Match"), etag)) {
+            ctx.status(304); // NOT MODIFIED
+            return;
+        }
+
+        long size = receipt.getSize();
+        ByteRange range;
+        try {
+            String ifRange = ctx.req.getHeader("If-Range");
+            range = ifRange == null || ifRange.equals(etag) ? ByteRange.parse(ctx.req.getHeader("Range"), size) : null;
+        } catch (IllegalStateException e) {
+            ctx.status(416); // RANGE NOT SATISFIABLE
+            ctx.header("Content-Range", "bytes */" + size);
+            return;
+        }
+
+        long position = 0;
+        long remaining = size;
+        if (range != null) {
+            ctx.status(206); // PARTIAL CONTENT
+            ctx.header("Content-Range", range.toContentRange(size));
+            position = range.getStart();
+            remaining = range.getLength();
+        }
+        ctx.contentType(receipt.getContentType());
+        ctx.res.setContentLengthLong(remaining);
+
+        /*
+            the range is mapped and handed to jetty as is, so it goes from the page cache to the socket without being copied through a
+            heap buffer. (jetty has no sendfile, and transferTo into a stream backed channel falls back to a copy loop.) this writes to
+            jetty's own output below javalin's response wrapper, fine for receipts: images and pdfs are compressed already
+         */
+        HttpOutput out = Request.getBaseRequest(ctx.req).getResponse().getHttpOutput();
+        try (FileChannel file = receiptService.open(receipt)) {
+            if (remaining > 0) out.sendContent(file.map(FileChannel.MapMode.READ_ONLY, position, remaining));
+        }
+    }
+
+    private Principal requireRequester(Context ctx) {
+        String token = ctx.req.getHeader("authorization");
+        if (token == null || token.isEmpty()) throw new InvalidAuthException("You are not signed in");
+
+        Principal principal = tokenService.extractRequesterDetails(token);
+        if (principal == null) throw new InvalidAuthException("Invalid token");
+        return principal;
+    }
+}
@@ -0,0 +1,236 @@
+package com.revature.yolp.handlers;
+
+import com.revature.yolp.dtos.requests.BulkResolveRequest;
+import com.revature.yolp.dtos.requests.NewReimbursementRequest;
+import com.revature.yolp.dtos.requests.ReimbursementFilter;
+import com.revature.yolp.dtos.requests.UpdateReimbursementRequest;
+import com.revature.yolp.dtos.responses.BulkResolveResult;
+import com.revature.yolp.dtos.responses.Principal;
+import com.revature.yolp.dtos.responses.ReimbursementPage;
+import com.revature.yolp.models.Reimbursement;
+import com.revature.yolp.models.ReimbursementStatus;
+import com.revature.yolp.models.Role;
+import com.revature.yolp.services.PendingQueueService;
+import com.revature.yolp.services.ReimbursementService;
+import com.revature.yolp.services.TokenService;
+import com.revature.yolp.utils.BodyCodec;
+import com.revature.yolp.utils.custom_exceptions.DataAccessException;
+import com.revature.yolp.utils.custom_exceptions.InvalidAuthException;
+import com.revature.yolp.utils.custom_exceptions.InvalidReimbursementException;
+import com.revature.yolp.utils.custom_exceptions.ReimbursementConflictException;
+import com.revature.yolp.utils.logging.AsyncLogger;
+import io.javalin.http.Context;
+import io.javalin.http.sse.SseHandler;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/* purpose of this ReimbursementHandler class is to handle reimbursement endpoints */
+public class ReimbursementHandler {
+    private final ReimbursementService reimbursementService;
+    private final PendingQueueService pendingQueueService;
+    private final TokenService tokenService;
+    private final BodyCodec codec;
+    private final SseHandler pendingStream;
+    /* room for ReimbursementService.MAX_BULK_SIZE {"id": "<uuid>", "version": n} entries */
+    private static final int MAX_BULK_BODY_BYTES = 1024 * 1024;
+    private final static Logger logger = AsyncLogger.getLogger(ReimbursementHandler.class);
+
+    public ReimbursementHandler(ReimbursementService reimbursementService, PendingQueueService pendingQueueService, TokenService tokenService, BodyCodec codec) {
+        this.reimbursementService = reimbursementService;
+        this.pendingQueueService = pendingQueueService;
+        this.tokenService = tokenService;
+        this.codec = codec;
+        this.pendingStream = new SseHandler(pendingQueueService::subscribe);
+    }
+
+    public void submit(Context ctx) throws IOException {
+        try {
+            Principal principal = requireRequester(ctx);
+            NewReimbursementRequest req = codec.read(ctx, NewReimbursementRequest.class);
+
+            Reimbursement createdReimbursement = reimbursementService.submit(req, principal.getId());
+
+            ctx.status(201); // CREATED
+            codec.write(ctx, createdReimbursement.getId());
+            logger.info("Reimbursement submitted...");
+        } catch (InvalidAuthException e) {
+            ctx.status(401);
+            ctx.json(e);
+        } catch (InvalidReimbursementException e) {
+            ctx.status(400); // BAD REQUEST
+            ctx.json(e);
+        } catch (DataAccessException e) {
+            ctx.status(500); // INTERNAL SERVER ERROR
+            ctx.json(e);
+        }
+    }
+
+    /*
+        GET /reimbursements
+            status=PENDING,APPROVED  type=FOOD,TRAVEL  from=2022-11-01  to=2022-11-30  min=10  max=500
+            sort=submitted|amount  order=asc|desc  limit=25  cursor=<nextCursor of the previous page>
+            author=<user id>  resolver=<user id>  (finance managers only)
+     */
+    public void getHistory(Context ctx) throws IOException {
+        try {
+            Principal principal = requireRequester(ctx);
+            ReimbursementFilter filter = parseFilter(ctx);
+
+            ReimbursementPage page = reimbursementService.getHistory(principal, filter);
+            codec.write(ctx, page);
+        } catch (InvalidAuthException e) {
+            ctx.status(401);
+            ctx.json(e);
+        } catch (InvalidReimbursementException e) {
+            ctx.status(400); // BAD REQUEST
+            ctx.json(e);
+        } catch (DataAccessException e) {
+            ctx.status(500); // INTERNAL SERVER ERROR
+            ctx.json(e);
+        }
+    }
+
+    /* PATCH /reimbursements/{id} with {"status": "APPROVED" | "DENIED"} */
+    public void resolve(Context ctx) throws IOException {
+        try {
+            Principal principal = requireRequester(ctx);
+            UpdateReimbursementRequest req = codec.read(ctx, UpdateReimbursementRequest.class);
+
+            reimbursementService.resolve(principal, ctx.pathParam("id"), req);
+
+            ctx.status(204); // NO CONTENT
+            logger.info("Reimbursement resolved...");
+        } catch (InvalidAuthException e) {
+            ctx.status(401);
+            ctx.json(e);
+        } catch (InvalidReimbursementException e) {
+            ctx.status(400); // BAD REQUEST
+            ctx.json(e);
+        } catch (ReimbursementConflictException e) {
+            ctx.status(409); // CONFLICT
+            ctx.json(e);
+        } catch (DataAccessException e) {
+            ctx.status(500); // INTERNAL SERVER ERROR
+            ctx.json(e);
+        }
+    }
+
+    /*
+        PATCH /reimbursements with {"status": "APPROVED", "reimbursements": [{"id": "...", "version": 0}, ...]}
+        responds 200 with the resolved ids and a conflict (and its reason) for every reimbursement that was not changed
+     */
+    public void resolveAll(Context ctx) throws IOException {
+        try {
+            Principal principal = requireRequester(ctx);
+            BulkResolveRequest req = codec.read(ctx, BulkResolveRequest.class, MAX_BULK_BODY_BYTES);
+
+            BulkResolveResult result = reimbursementService.resolveAll(principal, req);
+
+            codec.write(ctx, result);
+            logger.info("Bulk resolve: " + result.getResolved().size() + " resolved, " + result.getConflicts().size() + " conflicts...");
+        } catch (InvalidAuthException e) {
+            ctx.status(401);
+            ctx.json(e);
+        } catch (InvalidReimbursementException e) {
+            ctx.status(400); // BAD REQUEST
+            ctx.json(e);
+        } catch (DataAccessException e) {
+            ctx.status(500); // INTERNAL SERVER ERROR
+            ctx.json(e);
+        }
+    }
+
+    /* GET /reimbursements/pending, served from memory */
+    public void getPending(Context ctx) throws IOException {
+        try {
+            requireManager(requireRequester(ctx));
+            codec.write(ctx, pendingQueueService.getPending());
+        } catch (InvalidAuthException e) {
+            ctx.status(401);
+            ctx.json(e);
+        }
+    }
+
+    /*
+        GET /reimbursements/pending/stream with Accept: text/event-stream
+        browsers' EventSource can not set headers, so the token may also be passed as ?token=
+     */
+    public void streamPending(Context ctx) throws Exception {
+        try {
+            String token = ctx.req.getHeader("authorization");
+            if (token == null || token.isEmpty()) token = ctx.req.getParameter("token");
+            requireManager(requireRequester(token));
+        } catch (InvalidAuthException e) {
+            ctx.status(401);
+            ctx.json(e);
+            return;
+        }
+        pendingStream.handle(ctx);
+    }
+
+    private void requireManager(Principal principal) {
+        if (!principal.getRole().equals(Role.FINANCE_MANAGER)) throw new InvalidAuthException("You are not authorized to do this");
+    }
+
+    private Principal requireRequester(Context ctx) {
+        return requireRequester(ctx.req.getHeader("authorization"));
+    }
+
+    private Principal requireRequester(String token) {
+        if (token == null || token.isEmpty()) throw new InvalidAuthException("You are not signed in");
+
+        Principal principal = tokenService.extractRequesterDetails(token);
+        if (principal == null) throw new InvalidAuthException("Invalid token");
+        return principal;
+    }
+
+    private ReimbursementFilter parseFilter(Context ctx) {
+        ReimbursementFilter filter = new ReimbursementFilter();
+        try {
+            filter.setAuthorId(ctx.req.getParameter("author"));
+            filter.setResolverId(ctx.req.getParameter("resolver"));
+
+            String status = ctx.req.getParameter("status");
+            if (status != null) {
+                List<ReimbursementStatus> statuses = new ArrayList<>();
+                for (String s : status.split(",")) statuses.add(ReimbursementStatus.valueOf(s.trim().toUpperCase()));
+                filter.setStatuses(statuses);
+            }
+
+            String type = ctx.req.getParameter("type");
+            if (type != null) {
+                for (String t : type.split(",")) filter.getTypes().add(reimbursementService.parseType(t));
+            }
+
+            /* dates are inclusive on both ends for the caller, the filter's end is exclusive */
+            String from = ctx.req.getParameter("from");
+            if (from != null) filter.setSubmittedFrom(Timestamp.valueOf(LocalDate.parse(from).atStartOfDay()));
+            String to = ctx.req.getParameter("to");
+            if (to != null) filter.setSubmittedTo(Timestamp.valueOf(LocalDate.parse(to).plusDays(1).atStartOfDay()));
+
+            String min = ctx.req.getParameter("min");
+            if (min != null) filter.setMinAmount(new BigDecimal(min));
+            String max = ctx.req.getParameter("max");
+            if (max != null) filter.setMaxAmount(new BigDecimal(max));
+
+            String sort = ctx.req.getParameter("sort");
+            if (sort != null) filter.setSortBy(ReimbursementFilter.SortBy.valueOf(sort.trim().toUpperCase()));
+            filter.setDescending("desc".equalsIgnoreCase(ctx.req.getParameter("order")));
+
+            String limit = ctx.req.getParameter("limit");
+            if (limit != null) filter.setLimit(Integer.parseInt(limit));
+
+            filter.setCursor(ctx.req.getParameter("cursor"));
+        } catch (RuntimeException e) {
+            if (e instanceof InvalidReimbursementException) throw e;
+            throw new InvalidReimbursementException("Invalid query parameters");
+        }
+        return filter;
+    }
+}
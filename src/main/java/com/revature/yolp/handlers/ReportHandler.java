@@ -0,0 +1,100 @@
+package com.revature.yolp.handlers;
+
+import com.revature.yolp.dtos.responses.Principal;
+import com.revature.yolp.dtos.responses.SpendReportRow;
+import com.revature.yolp.services.ReportService;
+import com.revature.yolp.services.TokenService;
+import com.revature.yolp.utils.BodyCodec;
+import com.revature.yolp.utils.custom_exceptions.DataAccessException;
+import com.revature.yolp.utils.custom_exceptions.InvalidAuthException;
+import com.revature.yolp.utils.custom_exceptions.InvalidReimbursementException;
+import io.javalin.http.Context;
+import org.eclipse.jetty.server.Request;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/* purpose of this ReportHandler class is to handle finance report endpoints */
+public class ReportHandler {
+    private final ReportService reportService;
+    private final TokenService tokenService;
+    private final BodyCodec codec;
+
+    public ReportHandler(ReportService reportService, TokenService tokenService, BodyCodec codec) {
+        this.reportService = reportService;
+        this.tokenService = tokenService;
+        this.codec = codec;
+    }
+
+    /* GET /reports/spend?from=2022-01&to=2022-12&by=employee,type */
+    public void getSpend(Context ctx) throws IOException {
+        try {
+            Principal principal = requireRequester(ctx);
+            List<SpendReportRow> rows = reportService.getSpend(principal, ctx.req.getParameter("from"), ctx.req.getParameter("to"), ctx.req.getParameter("by"));
+            codec.write(ctx, rows);
+        } catch (InvalidAuthException e) {
+            ctx.status(401);
+            ctx.json(e);
+        } catch (InvalidReimbursementException e) {
+            ctx.status(400); // BAD REQUEST
+            ctx.json(e);
+        } catch (DataAccessException e) {
+            ctx.status(500); // INTERNAL SERVER ERROR
+            ctx.json(e);
+        }
+    }
+
+    /* GET /reports/reimbursements.csv?from=2022-11-01&to=2022-11-30, streamed, never built in memory */
+    public void exportCsv(Context ctx) throws IOException {
+        Principal principal;
+        try {
+            principal = requireRequester(ctx);
+        } catch (InvalidAuthException e) {
+            ctx.status(401);
+            ctx.json(e);
+            return;
+        }
+
+        String from = ctx.req.getParameter("from");
+        String to = ctx.req.getParameter("to");
+        ctx.contentType("text/csv; charset=utf-8");
+        ctx.header("Content-Disposition", "attachment; filename=\"reimbursements.csv\"");
+
+        Writer out = new BufferedWriter(new OutputStreamWriter(ctx.res.getOutputStream(), StandardCharsets.UTF_8), 64 * 1024);
+        try {
+            reportService.exportCsv(principal, from, to, out);
+        } catch (InvalidAuthException e) {
+            ctx.contentType("application/json");
+            ctx.status(401);
+            ctx.json(e);
+        } catch (InvalidReimbursementException e) {
+            ctx.contentType("application/json");
+            ctx.status(400); // BAD REQUEST
+            ctx.json(e);
+        } catch (DataAccessException e) {
+            if (ctx.res.isCommitted()) {
+                /* part of the file is already on the wire: cut the connection so the download fails instead of ending as a short file that looks complete */
+                Request.getBaseRequest(ctx.req).getHttpChannel().abort(e);
+                return;
+            }
+            ctx.res.resetBuffer();
+            ctx.contentType("application/json");
+            ctx.res.setHeader("Content-Disposition", null);
+            ctx.status(500); // INTERNAL SERVER ERROR
+            ctx.json(e);
+        }
+    }
+
+    private Principal requireRequester(Context ctx) {
+        String token = ctx.req.getHeader("authorization");
+        if (token == null || token.isEmpty()) throw new InvalidAuthException("You are not signed in");
+
+        Principal principal = tokenService.extractRequesterDetails(token);
+        if (principal == null) throw new InvalidAuthException("Invalid token");
+        return principal;
+    }
+}
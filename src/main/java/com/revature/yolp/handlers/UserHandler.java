@@ -1,17 +1,18 @@
 package com.revature.yolp.handlers;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.revature.yolp.dtos.requests.NewUserRequest;
 import com.revature.yolp.dtos.responses.Principal;
 import com.revature.yolp.models.Role;
 import com.revature.yolp.models.User;
 import com.revature.yolp.services.TokenService;
 import com.revature.yolp.services.UserService;
+import com.revature.yolp.utils.BodyCodec;
+import com.revature.yolp.utils.custom_exceptions.DataAccessException;
 import com.revature.yolp.utils.custom_exceptions.InvalidAuthException;
 import com.revature.yolp.utils.custom_exceptions.InvalidUserException;
+import com.revature.yolp.utils.logging.AsyncLogger;
 import io.javalin.http.Context;
 import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.util.List;
@@ -21,17 +22,17 @@ import java.util.List;
 public class UserHandler {
     private final UserService userService;
     private final TokenService tokenService;
-    private final ObjectMapper mapper;
-    private final static Logger logger = LoggerFactory.getLogger(User.class);
+    private final BodyCodec codec;
+    private final static Logger logger = AsyncLogger.getLogger(UserHandler.class);
 
-    public UserHandler(UserService userService, TokenService tokenService, ObjectMapper mapper) {
+    public UserHandler(UserService userService, TokenService tokenService, BodyCodec codec) {
         this.userService = userService;
         this.tokenService = tokenService;
-        this.mapper = mapper;
+        this.codec = codec;
     }
 
     public void signup(Context ctx) throws IOException {
-        NewUserRequest req = mapper.readValue(ctx.req.getInputStream(), NewUserRequest.class);
+        NewUserRequest req = codec.read(ctx, NewUserRequest.class);
 
         try {
             logger.info("Attempting to signup...");
@@ -49,16 +50,20 @@ public class UserHandler {
             } else throw new InvalidUserException("Username needs to be 8 - 20 characters long");
 
             ctx.status(201); // CREATED
-            ctx.json(createdUser.getId());
+            codec.write(ctx, createdUser.getId());
             logger.info("Signup attempt successful...");
         } catch (InvalidUserException e) {
             ctx.status(403); // FORBIDDEN
             ctx.json(e);
             logger.info("Signup attempt unsuccessful...");
+        } catch (DataAccessException e) {
+            ctx.status(500); // INTERNAL SERVER ERROR
+            ctx.json(e);
+            logger.info("Signup attempt failed...");
         }
     }
 
-    public void getAllUsers(Context ctx) {
+    public void getAllUsers(Context ctx) throws IOException {
         try {
             String token = ctx.req.getHeader("authorization");
             if (token == null || token.isEmpty()) throw new InvalidAuthException("You are not signed in");
@@ -68,14 +73,14 @@ public class UserHandler {
             if (!principal.getRole().equals(Role.ADMIN)) throw new InvalidAuthException("You are not authorized to do this");
 
             List<User> users = userService.getAllUsers();
-            ctx.json(users);
+            codec.write(ctx, users);
         } catch (InvalidAuthException e) {
             ctx.status(401);
             ctx.json(e);
         }
     }
 
-    public void getAllUsersByUsername(Context ctx) {
+    public void getAllUsersByUsername(Context ctx) throws IOException {
         try {
             String token = ctx.req.getHeader("authorization");
             if (token == null || token.isEmpty()) throw new InvalidAuthException("You are not signed in");
@@ -86,7 +91,7 @@ public class UserHandler {
 
             String username = ctx.req.getParameter("username");
             List<User> users = userService.getAllUsersByUsername(username);
-            ctx.json(users);
+            codec.write(ctx, users);
         } catch (InvalidAuthException e) {
             ctx.status(401);
             ctx.json(e);
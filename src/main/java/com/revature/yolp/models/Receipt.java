@@ -0,0 +1,86 @@
+package com.revature.yolp.models;
+
+import java.sql.Timestamp;
+
+/* metadata of a receipt image, the bytes live in the ReceiptStore under their sha-256 hash */
+public class Receipt {
+    private String id;
+    private String reimbursementId;
+    private String hash;
+    private String contentType;
+    private long size;
+    private Timestamp uploaded;
+
+    public Receipt() {
+        super();
+    }
+
+    public Receipt(String id, String reimbursementId, String hash, String contentType, long size, Timestamp uploaded) {
+        this.id = id;
+        this.reimbursementId = reimbursementId;
+        this.hash = hash;
+        this.contentType = contentType;
+        this.size = size;
+        this.uploaded = uploaded;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getReimbursementId() {
+        return reimbursementId;
+    }
+
+    public void setReimbursementId(String reimbursementId) {
+        this.reimbursementId = reimbursementId;
+    }
+
+    public String getHash() {
+        return hash;
+    }
+
+    public void setHash(String hash) {
+        this.hash = hash;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public void setSize(long size) {
+        this.size = size;
+    }
+
+    public Timestamp getUploaded() {
+        return uploaded;
+    }
+
+    public void setUploaded(Timestamp uploaded) {
+        this.uploaded = uploaded;
+    }
+
+    @Override
+    public String toString() {
+        return "Receipt{" +
+                "id='" + id + '\'' +
+                ", reimbursementId='" + reimbursementId + '\'' +
+                ", hash='" + hash + '\'' +
+                ", contentType='" + contentType + '\'' +
+                ", size=" + size +
+                ", uploaded=" + uploaded +
+                '}';
+    }
+}
@@ -0,0 +1,131 @@
+package com.revature.yolp.models;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+
+public class Reimbursement {
+    private String id;
+    private BigDecimal amount;
+    private Timestamp submitted;
+    private Timestamp resolved;
+    private String description;
+    private String authorId;
+    private String resolverId;
+    private ReimbursementStatus status;
+    private ReimbursementType type;
+    /* incremented on every update, used for optimistic concurrency */
+    private int version;
+
+    public Reimbursement() {
+        super();
+    }
+
+    public Reimbursement(String id, BigDecimal amount, Timestamp submitted, Timestamp resolved, String description, String authorId, String resolverId, ReimbursementStatus status, ReimbursementType type, int version) {
+        this.id = id;
+        this.amount = amount;
+        this.submitted = submitted;
+        this.resolved = resolved;
+        this.description = description;
+        this.authorId = authorId;
+        this.resolverId = resolverId;
+        this.status = status;
+        this.type = type;
+        this.version = version;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public Timestamp getSubmitted() {
+        return submitted;
+    }
+
+    public void setSubmitted(Timestamp submitted) {
+        this.submitted = submitted;
+    }
+
+    public Timestamp getResolved() {
+        return resolved;
+    }
+
+    public void setResolved(Timestamp resolved) {
+        this.resolved = resolved;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public String getAuthorId() {
+        return authorId;
+    }
+
+    public void setAuthorId(String authorId) {
+        this.authorId = authorId;
+    }
+
+    public String getResolverId() {
+        return resolverId;
+    }
+
+    public void setResolverId(String resolverId) {
+        this.resolverId = resolverId;
+    }
+
+    public ReimbursementStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ReimbursementStatus status) {
+        this.status = status;
+    }
+
+    public ReimbursementType getType() {
+        return type;
+    }
+
+    public void setType(ReimbursementType type) {
+        this.type = type;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public void setVersion(int version) {
+        this.version = version;
+    }
+
+    @Override
+    public String toString() {
+        return "Reimbursement{" +
+                "id='" + id + '\'' +
+                ", amount=" + amount +
+                ", submitted=" + submitted +
+                ", resolved=" + resolved +
+                ", description='" + description + '\'' +
+                ", authorId='" + authorId + '\'' +
+                ", resolverId='" + resolverId + '\'' +
+                ", status=" + status +
+                ", type=" + type +
+                ", version=" + version +
+                '}';
+    }
+}
@@ -0,0 +1,5 @@
+package com.revature.yolp.models;
+
+public enum ReimbursementStatus {
+    PENDING, APPROVED, DENIED
+}
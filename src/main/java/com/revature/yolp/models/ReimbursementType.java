@@ -0,0 +1,5 @@
+package com.revature.yolp.models;
+
+public enum ReimbursementType {
+    LODGING, TRAVEL, FOOD, OTHER
+}
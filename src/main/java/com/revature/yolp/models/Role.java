@@ -1,5 +1,5 @@
 package com.revature.yolp.models;
 
 public enum Role {
-    DEFAULT, ADMIN
+    DEFAULT, ADMIN, FINANCE_MANAGER
 }
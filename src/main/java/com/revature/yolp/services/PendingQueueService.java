@@ -0,0 +1,103 @@
+package com.revature.yolp.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.revature.yolp.daos.ReimbursementDAO;
+import com.revature.yolp.models.Reimbursement;
+import com.revature.yolp.models.ReimbursementStatus;
+import com.revature.yolp.utils.SseBroadcaster;
+import io.javalin.http.sse.SseClient;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/*
+ * purpose of PendingQueueService is to keep every PENDING reimbursement in memory, ordered by submission time,
+ * so finance managers can read or subscribe to the queue instead of polling the db
+ *
+ * subscribers get a "snapshot" event with the whole queue, then "added" (a reimbursement), "updated" (a reimbursement, e.g. at its new
+ * version after a receipt was attached) and "removed" (an array of ids) deltas.
+ * mutations and subscribes share one lock so a subscriber never misses a delta between its snapshot and its first event.
+ */
+public class PendingQueueService {
+    private static final Comparator<Reimbursement> bySubmission = Comparator.comparing(Reimbursement::getSubmitted).thenComparing(Reimbursement::getId);
+
+    private final ConcurrentSkipListSet<Reimbursement> pending = new ConcurrentSkipListSet<>(bySubmission);
+    private final Map<String, Reimbursement> pendingById = new ConcurrentHashMap<>();
+    private final ReimbursementDAO reimbursementDAO;
+    private final SseBroadcaster broadcaster;
+    private final ObjectMapper mapper;
+
+    public PendingQueueService(ReimbursementDAO reimbursementDAO, SseBroadcaster broadcaster, ObjectMapper mapper) {
+        this.reimbursementDAO = reimbursementDAO;
+        this.broadcaster = broadcaster;
+        this.mapper = mapper;
+    }
+
+    /* loads the queue from the db, run once at startup. a failed query throws (and fails the warm-up phase) rather than seeding an empty queue */
+    public synchronized void seed() {
+        List<Reimbursement> fromDb = reimbursementDAO.findAllByStatus(ReimbursementStatus.PENDING);
+        pending.clear();
+        pendingById.clear();
+        for (Reimbursement reimbursement : fromDb) {
+            pending.add(reimbursement);
+            pendingById.put(reimbursement.getId(), reimbursement);
+        }
+        broadcaster.publish("snapshot", toJson(getPending()));
+    }
+
+    public synchronized void onSubmitted(Reimbursement reimbursement) {
+        if (pendingById.putIfAbsent(reimbursement.getId(), reimbursement) != null) return;
+        pending.add(reimbursement);
+        broadcaster.publish("added", toJson(reimbursement));
+    }
+
+    /*
+        replaces the queued copy of a still pending reimbursement, so managers see (and bulk resolve against) its current version.
+        two uploads re-read their ticket after committing but can report back in either order, so a copy no newer than the queued one is dropped
+     */
+    public synchronized void onUpdated(Reimbursement reimbursement) {
+        Reimbursement previous = pendingById.get(reimbursement.getId());
+        if (previous == null || reimbursement.getStatus() != ReimbursementStatus.PENDING) return;
+        if (reimbursement.getVersion() <= previous.getVersion()) return;
+        pending.remove(previous);
+        pending.add(reimbursement);
+        pendingById.put(reimbursement.getId(), reimbursement);
+        broadcaster.publish("updated", toJson(reimbursement));
+    }
+
+    /* one "removed" event per batch, so a bulk resolve does not flood the subscribers' queues */
+    public synchronized void onResolved(Collection<String> reimbursementIds) {
+        List<String> removed = new ArrayList<>();
+        for (String id : reimbursementIds) {
+            Reimbursement reimbursement = pendingById.remove(id);
+            if (reimbursement == null) continue;
+            pending.remove(reimbursement);
+            removed.add(id);
+        }
+        if (!removed.isEmpty()) broadcaster.publish("removed", toJson(removed));
+    }
+
+    public synchronized void subscribe(SseClient client) {
+        broadcaster.subscribe(client, "snapshot", toJson(getPending()));
+    }
+
+    /* oldest first */
+    public List<Reimbursement> getPending() {
+        return Collections.unmodifiableList(new ArrayList<>(pending));
+    }
+
+    private String toJson(Object value) {
+        try {
+            return mapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.revature.yolp.services;
+
+import com.revature.yolp.daos.ReceiptDAO;
+import com.revature.yolp.daos.ReimbursementDAO;
+import com.revature.yolp.dtos.responses.Principal;
+import com.revature.yolp.models.Receipt;
+import com.revature.yolp.models.Reimbursement;
+import com.revature.yolp.models.ReimbursementStatus;
+import com.revature.yolp.models.Role;
+import com.revature.yolp.utils.ReceiptStore;
+import com.revature.yolp.utils.custom_exceptions.DataAccessException;
+import com.revature.yolp.utils.custom_exceptions.InvalidAuthException;
+import com.revature.yolp.utils.custom_exceptions.InvalidReceiptException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.Lock;
+
+/* purpose of ReceiptService is to attach receipt images to reimbursements and hand them back to the people allowed to see them */
+public class ReceiptService {
+    public static final long MAX_RECEIPT_BYTES = 10 * 1024 * 1024;
+    private static final List<String> contentTypes = Arrays.asList("image/png", "image/jpeg", "image/gif", "image/webp", "application/pdf");
+
+    private final ReceiptDAO receiptDAO;
+    private final ReimbursementDAO reimbursementDAO;
+    private final ReceiptStore receiptStore;
+    private final PendingQueueService pendingQueueService;
+
+    public ReceiptService(ReceiptDAO receiptDAO, ReimbursementDAO reimbursementDAO, ReceiptStore receiptStore, PendingQueueService pendingQueueService) {
+        this.receiptDAO = receiptDAO;
+        this.reimbursementDAO = reimbursementDAO;
+        this.receiptStore = receiptStore;
+        this.pendingQueueService = pendingQueueService;
+    }
+
+    /* only the author of a pending reimbursement can attach a receipt */
+    public Receipt upload(Principal requester, String reimbursementId, String contentType, InputStream body) throws IOException {
+        Reimbursement reimbursement = reimbursementDAO.findById(reimbursementId);
+        if (reimbursement == null) throw new InvalidReceiptException("Reimbursement not found");
+        if (!reimbursement.getAuthorId().equals(requester.getId())) throw new InvalidAuthException("You are not authorized to do this");
+        if (reimbursement.getStatus() != ReimbursementStatus.PENDING) throw new InvalidReceiptException("Only pending reimbursements can be changed");
+
+        String type = contentType == null ? "" : contentType.split(";")[0].trim().toLowerCase();
+        if (!contentTypes.contains(type)) throw new InvalidReceiptException("Receipt needs to be one of " + contentTypes);
+
+        Receipt receipt;
+        String previousHash;
+        try (ReceiptStore.Upload upload = receiptStore.receive(body, MAX_RECEIPT_BYTES)) {
+            /* held until the row is saved, so the file can't be deleted between finding it in the store and pointing the row at it */
+            Lock lock = receiptStore.lockFor(upload.getHash());
+            lock.lock();
+            try {
+                ReceiptStore.StoredFile stored = receiptStore.commit(upload);
+                receipt = new Receipt(UUID.randomUUID().toString(), reimbursementId, stored.getHash(), type, stored.getSize(), new Timestamp(System.currentTimeMillis()));
+                try {
+                    previousHash = receiptDAO.replace(receipt);
+                } catch (DataAccessException e) {
+                    /* a duplicate was there before us and belongs to someone else */
+                    if (!stored.isDuplicate()) discardIfUnreferenced(stored.getHash());
+                    throw e;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        if (previousHash != null && !previousHash.equals(receipt.getHash())) release(previousHash);
+
+        /* saving bumped the reimbursement's version. the receipt is in, so a failed re-read only leaves the queue a version behind */
+        try {
+            Reimbursement updated = reimbursementDAO.findById(reimbursementId);
+            if (updated != null) pendingQueueService.onUpdated(updated);
+        } catch (DataAccessException ignored) {
+        }
+        return receipt;
+    }
+
+    /* a replaced receipt's file, deleted unless another receipt has the same bytes */
+    private void release(String hash) {
+        Lock lock = receiptStore.lockFor(hash);
+        lock.lock();
+        try {
+            discardIfUnreferenced(hash);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /*
+        called holding receiptStore.lockFor(hash), so no upload of the same bytes can find the file and save its row in between.
+        if the db can't even be asked the file stays, an unreferenced file only costs disk space
+     */
+    private void discardIfUnreferenced(String hash) {
+        try {
+            if (!receiptDAO.isHashReferenced(hash)) receiptStore.delete(hash);
+        } catch (DataAccessException | IOException ignored) {
+        }
+    }
+
+    /* the author and finance managers can see a receipt */
+    public Receipt getReceipt(Principal requester, String reimbursementId) {
+        Reimbursement reimbursement = reimbursementDAO.findById(reimbursementId);
+        if (reimbursement == null) throw new InvalidReceiptException("Reimbursement not found");
+        if (!reimbursement.getAuthorId().equals(requester.getId()) && !requester.getRole().equals(Role.FINANCE_MANAGER))
+            throw new InvalidAuthException("You are not authorized to do this");
+
+        Receipt receipt = receiptDAO.findByReimbursementId(reimbursementId);
+        if (receipt == null) throw new InvalidReceiptException("Reimbursement has no receipt");
+        return receipt;
+    }
+
+    public FileChannel open(Receipt receipt) throws IOException {
+        return receiptStore.open(receipt.getHash());
+    }
+}
@@ -0,0 +1,148 @@
+package com.revature.yolp.services;
+
+import com.revature.yolp.daos.ReimbursementDAO;
+import com.revature.yolp.daos.ReimbursementQueryBuilder;
+import com.revature.yolp.dtos.requests.BulkResolveRequest;
+import com.revature.yolp.dtos.requests.NewReimbursementRequest;
+import com.revature.yolp.dtos.requests.ReimbursementFilter;
+import com.revature.yolp.dtos.requests.ReimbursementVersion;
+import com.revature.yolp.dtos.requests.UpdateReimbursementRequest;
+import com.revature.yolp.dtos.responses.BulkResolveResult;
+import com.revature.yolp.dtos.responses.Principal;
+import com.revature.yolp.dtos.responses.ReimbursementPage;
+import com.revature.yolp.models.Reimbursement;
+import com.revature.yolp.models.ReimbursementStatus;
+import com.revature.yolp.models.ReimbursementType;
+import com.revature.yolp.models.Role;
+import com.revature.yolp.utils.audit.AuditAction;
+import com.revature.yolp.utils.audit.AuditJournal;
+import com.revature.yolp.utils.custom_exceptions.InvalidAuthException;
+import com.revature.yolp.utils.custom_exceptions.InvalidReimbursementException;
+import com.revature.yolp.utils.custom_exceptions.ReimbursementConflictException;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/* purpose of ReimbursementService is to validate reimbursement requests and history queries before they reach the DAO */
+public class ReimbursementService {
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final int MAX_BULK_SIZE = 5000;
+    private static final BigDecimal MAX_AMOUNT = new BigDecimal("99999999.99");
+
+    private final ReimbursementDAO reimbursementDAO;
+    private final ReimbursementQueryBuilder queryBuilder;
+    private final PendingQueueService pendingQueueService;
+    private final AuditJournal auditJournal;
+
+    public ReimbursementService(ReimbursementDAO reimbursementDAO, ReimbursementQueryBuilder queryBuilder, PendingQueueService pendingQueueService, AuditJournal auditJournal) {
+        this.reimbursementDAO = reimbursementDAO;
+        this.queryBuilder = queryBuilder;
+        this.pendingQueueService = pendingQueueService;
+        this.auditJournal = auditJournal;
+    }
+
+    public Reimbursement submit(NewReimbursementRequest req, String authorId) {
+        if (req.getAmount() == null || req.getAmount().signum() <= 0 || req.getAmount().compareTo(MAX_AMOUNT) > 0 || req.getAmount().scale() > 2)
+            throw new InvalidReimbursementException("Amount needs to be a positive number with at most 2 decimal places");
+        if (req.getDescription() == null || req.getDescription().trim().isEmpty())
+            throw new InvalidReimbursementException("Description is required");
+
+        Reimbursement createdReimbursement = new Reimbursement(UUID.randomUUID().toString(), req.getAmount(), new Timestamp(System.currentTimeMillis()), null,
+                req.getDescription().trim(), authorId, null, ReimbursementStatus.PENDING, parseType(req.getType()), 0);
+        reimbursementDAO.save(createdReimbursement);
+        auditJournal.append(AuditAction.REIMBURSEMENT_SUBMITTED, authorId, createdReimbursement.getId(), null, ReimbursementStatus.PENDING);
+        pendingQueueService.onSubmitted(createdReimbursement);
+        return createdReimbursement;
+    }
+
+    /* only finance managers can resolve, only PENDING can be resolved, and nobody can resolve their own reimbursement */
+    public void resolve(Principal requester, String reimbursementId, UpdateReimbursementRequest req) {
+        if (!requester.getRole().equals(Role.FINANCE_MANAGER)) throw new InvalidAuthException("You are not authorized to do this");
+
+        ReimbursementStatus status = parseResolution(req.getStatus());
+        if (!reimbursementDAO.resolve(reimbursementId, requester.getId(), status, new Timestamp(System.currentTimeMillis())))
+            throw new ReimbursementConflictException("Only pending reimbursements from other employees can be resolved");
+
+        auditJournal.append(AuditAction.REIMBURSEMENT_RESOLVED, requester.getId(), reimbursementId, ReimbursementStatus.PENDING, status);
+        pendingQueueService.onResolved(Collections.singletonList(reimbursementId));
+    }
+
+    /* resolves many reimbursements in one statement, each one only if it is still at the version the manager saw */
+    public BulkResolveResult resolveAll(Principal requester, BulkResolveRequest req) {
+        if (!requester.getRole().equals(Role.FINANCE_MANAGER)) throw new InvalidAuthException("You are not authorized to do this");
+
+        ReimbursementStatus status = parseResolution(req.getStatus());
+        if (req.getReimbursements() == null || req.getReimbursements().isEmpty())
+            throw new InvalidReimbursementException("No reimbursements given");
+        if (req.getReimbursements().size() > MAX_BULK_SIZE)
+            throw new InvalidReimbursementException("At most " + MAX_BULK_SIZE + " reimbursements can be resolved at once");
+
+        Set<String> ids = new LinkedHashSet<>();
+        List<ReimbursementVersion> targets = new ArrayList<>();
+        for (ReimbursementVersion target : req.getReimbursements()) {
+            if (target.getId() == null) throw new InvalidReimbursementException("Reimbursement id is required");
+            if (!ids.add(target.getId())) throw new InvalidReimbursementException("Reimbursement " + target.getId() + " is listed twice");
+            targets.add(target);
+        }
+
+        BulkResolveResult result = reimbursementDAO.resolveAll(targets, requester.getId(), status, new Timestamp(System.currentTimeMillis()));
+        for (String id : result.getResolved())
+            auditJournal.append(AuditAction.REIMBURSEMENT_RESOLVED, requester.getId(), id, ReimbursementStatus.PENDING, status);
+        pendingQueueService.onResolved(result.getResolved());
+        return result;
+    }
+
+    /* employees only ever see their own tickets, finance managers see everything and default to the pending queue */
+    public ReimbursementPage getHistory(Principal requester, ReimbursementFilter filter) {
+        if (requester.getRole().equals(Role.FINANCE_MANAGER)) {
+            if (filter.getAuthorId() == null && filter.getResolverId() == null && filter.getStatuses().isEmpty())
+                filter.setStatuses(Collections.singletonList(ReimbursementStatus.PENDING));
+        } else {
+            if (filter.getAuthorId() != null && !filter.getAuthorId().equals(requester.getId()))
+                throw new InvalidAuthException("You are not authorized to do this");
+            filter.setAuthorId(requester.getId());
+            filter.setResolverId(null);
+        }
+
+        validateFilter(filter);
+
+        List<Reimbursement> reimbursements = reimbursementDAO.findByQuery(queryBuilder.build(filter));
+
+        String nextCursor = null;
+        if (reimbursements.size() > filter.getLimit()) {
+            reimbursements = reimbursements.subList(0, filter.getLimit());
+            nextCursor = queryBuilder.encodeCursor(filter, reimbursements.get(reimbursements.size() - 1));
+        }
+
+        return new ReimbursementPage(reimbursements, nextCursor);
+    }
+
+    public ReimbursementType parseType(String type) {
+        try {
+            return ReimbursementType.valueOf(type.trim().toUpperCase());
+        } catch (RuntimeException e) {
+            throw new InvalidReimbursementException("Type needs to be one of LODGING, TRAVEL, FOOD or OTHER");
+        }
+    }
+
+    public ReimbursementStatus parseResolution(String status) {
+        if ("APPROVED".equalsIgnoreCase(status)) return ReimbursementStatus.APPROVED;
+        if ("DENIED".equalsIgnoreCase(status)) return ReimbursementStatus.DENIED;
+        throw new InvalidReimbursementException("Status needs to be APPROVED or DENIED");
+    }
+
+    private void validateFilter(ReimbursementFilter filter) {
+        if (filter.getLimit() < 1 || filter.getLimit() > MAX_PAGE_SIZE)
+            throw new InvalidReimbursementException("Limit needs to be between 1 and " + MAX_PAGE_SIZE);
+        if (filter.getMinAmount() != null && filter.getMaxAmount() != null && filter.getMinAmount().compareTo(filter.getMaxAmount()) > 0)
+            throw new InvalidReimbursementException("Minimum amount is greater than maximum amount");
+        if (filter.getSubmittedFrom() != null && filter.getSubmittedTo() != null && !filter.getSubmittedFrom().before(filter.getSubmittedTo()))
+            throw new InvalidReimbursementException("Start date needs to be before end date");
+    }
+}
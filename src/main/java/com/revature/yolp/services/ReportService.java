@@ -0,0 +1,95 @@
+package com.revature.yolp.services;
+
+import com.revature.yolp.daos.ReimbursementDAO;
+import com.revature.yolp.daos.ReportDAO;
+import com.revature.yolp.dtos.responses.Principal;
+import com.revature.yolp.dtos.responses.SpendReportRow;
+import com.revature.yolp.models.Role;
+import com.revature.yolp.utils.CsvWriter;
+import com.revature.yolp.utils.custom_exceptions.InvalidAuthException;
+import com.revature.yolp.utils.custom_exceptions.InvalidReimbursementException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/* purpose of ReportService is to serve finance reports from the rollups and stream ticket exports */
+public class ReportService {
+    private final ReportDAO reportDAO;
+    private final ReimbursementDAO reimbursementDAO;
+
+    public ReportService(ReportDAO reportDAO, ReimbursementDAO reimbursementDAO) {
+        this.reportDAO = reportDAO;
+        this.reimbursementDAO = reimbursementDAO;
+    }
+
+    /*
+        monthly approved spend between two months (yyyy-MM, both inclusive)
+        by = null (month totals), "type", "employee" or "employee,type"; employees only ever see their own spend
+     */
+    public List<SpendReportRow> getSpend(Principal requester, String from, String to, String by) {
+        YearMonth fromMonth = parseMonth(from);
+        YearMonth toMonth = parseMonth(to);
+        if (fromMonth.isAfter(toMonth)) throw new InvalidReimbursementException("Start month needs to be before end month");
+
+        boolean byType = false;
+        boolean byEmployee = false;
+        if (by != null) {
+            for (String group : by.split(",")) {
+                if (group.trim().equalsIgnoreCase("type")) byType = true;
+                else if (group.trim().equalsIgnoreCase("employee")) byEmployee = true;
+                else throw new InvalidReimbursementException("Reports can be grouped by type and/or employee");
+            }
+        }
+
+        String authorId = requester.getRole().equals(Role.FINANCE_MANAGER) ? null : requester.getId();
+
+        return reportDAO.findSpend(Date.valueOf(fromMonth.atDay(1)), Date.valueOf(toMonth.plusMonths(1).atDay(1)), byType, byEmployee, authorId);
+    }
+
+    /* writes every reimbursement submitted between two dates (yyyy-MM-dd, both inclusive) as csv, one row at a time */
+    public void exportCsv(Principal requester, String from, String to, Writer out) throws IOException {
+        if (!requester.getRole().equals(Role.FINANCE_MANAGER)) throw new InvalidAuthException("You are not authorized to do this");
+
+        LocalDate fromDate = parseDate(from);
+        LocalDate toDate = parseDate(to);
+        if (fromDate.isAfter(toDate)) throw new InvalidReimbursementException("Start date needs to be before end date");
+
+        CsvWriter csv = new CsvWriter(out);
+        csv.writeRow("id", "submitted", "resolved", "author_id", "resolver_id", "type", "status", "amount", "description");
+        try {
+            reimbursementDAO.forEachSubmittedBetween(Timestamp.valueOf(fromDate.atStartOfDay()), Timestamp.valueOf(toDate.plusDays(1).atStartOfDay()), r -> {
+                try {
+                    csv.writeRow(r.getId(), r.getSubmitted(), r.getResolved(), r.getAuthorId(), r.getResolverId(), r.getType(), r.getStatus(), r.getAmount(), r.getDescription());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        csv.flush();
+    }
+
+    private YearMonth parseMonth(String month) {
+        try {
+            return YearMonth.parse(month);
+        } catch (DateTimeParseException | NullPointerException e) {
+            throw new InvalidReimbursementException("Months need to look like 2022-11");
+        }
+    }
+
+    private LocalDate parseDate(String date) {
+        try {
+            return LocalDate.parse(date);
+        } catch (DateTimeParseException | NullPointerException e) {
+            throw new InvalidReimbursementException("Dates need to look like 2022-11-30");
+        }
+    }
+}
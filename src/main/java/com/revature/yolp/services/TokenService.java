@@ -1,48 +1,112 @@
 package com.revature.yolp.services;
 
+import com.revature.yolp.daos.UserDAO;
 import com.revature.yolp.dtos.responses.Principal;
 import com.revature.yolp.models.Role;
+import com.revature.yolp.models.User;
 import com.revature.yolp.utils.JwtConfig;
+import com.revature.yolp.utils.custom_exceptions.InvalidAuthException;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
 import io.jsonwebtoken.JwtBuilder;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureException;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
 
+import java.security.Key;
 import java.util.Date;
 
 public class TokenService {
+    /* seconds since epoch of the login that started the session, carried over by every refresh */
+    private static final String AUTH_TIME = "auth_time";
+
     private JwtConfig jwtConfig;
+    private UserDAO userDAO;
+
+    /* picks the verification key by the token's kid header, from whatever keys are loaded right now */
+    private final SigningKeyResolverAdapter keyResolver = new SigningKeyResolverAdapter() {
+        @Override
+        public Key resolveSigningKey(JwsHeader header, Claims claims) {
+            Key key = jwtConfig.getKeyRing().getVerificationKey(header.getKeyId());
+            if (key == null) throw new SignatureException("Unknown key id " + header.getKeyId());
+            return key;
+        }
+    };
 
     public TokenService() {
         super();
     }
 
-    public TokenService(JwtConfig jwtConfig) {
+    public TokenService(JwtConfig jwtConfig, UserDAO userDAO) {
         this.jwtConfig = jwtConfig;
+        this.userDAO = userDAO;
     }
 
     public String generateToken(Principal subject) {
         long now = System.currentTimeMillis();
+        return generateToken(subject, now, now / 1000);
+    }
+
+    /*
+        sliding refresh: a still valid token is traded for a new one with a fresh expiration, signed with the current key,
+        without checking the password again. the session can be stretched like that for at most jwtConfig.getMaxSessionAge()
+        after the login. the user is read again by id, so a changed role takes effect on the next refresh and a deleted user can't
+        refresh at all
+     */
+    public String refreshToken(String token) {
+        Claims claims;
+        try {
+            claims = parse(token);
+        } catch (Exception e) {
+            throw new InvalidAuthException("Invalid or expired token");
+        }
+
+        /* tokens from before refresh existed have no auth_time, their session started when they were issued */
+        Long authTime = claims.get(AUTH_TIME, Long.class);
+        if (authTime == null) authTime = claims.getIssuedAt().getTime() / 1000;
+
+        long now = System.currentTimeMillis();
+        if (now - authTime * 1000 > jwtConfig.getMaxSessionAge()) throw new InvalidAuthException("Session expired, please login again");
+
+        User user = userDAO.findById(claims.getId());
+        if (user == null) throw new InvalidAuthException("Account no longer exists, please login again");
+
+        return generateToken(new Principal(user.getId(), user.getUsername(), user.getRole()), now, authTime);
+    }
+
+    public Principal extractRequesterDetails(String token) {
+        try {
+            return toPrincipal(parse(token));
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private String generateToken(Principal subject, long now, long authTime) {
+        /* one snapshot, so the kid always names the key that signed */
+        JwtConfig.KeyRing keyRing = jwtConfig.getKeyRing();
         JwtBuilder tokenBuilder = Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, keyRing.getSigningKeyId())
                 .setId(subject.getId())
                 .setIssuer("yolp")
                 .setIssuedAt(new Date(now))
                 .setExpiration(new Date(now + jwtConfig.getExpiration()))
                 .setSubject(subject.getUsername())
                 .claim("role", subject.getRole())
-                .signWith(jwtConfig.getSigAlg(), jwtConfig.getSigningKey());
+                .claim(AUTH_TIME, authTime)
+                .signWith(jwtConfig.getSigAlg(), keyRing.getSigningKey());
 
         return tokenBuilder.compact();
     }
 
-    public Principal extractRequesterDetails(String token) {
-        try {
-            Claims claims = Jwts.parser()
-                    .setSigningKey(jwtConfig.getSigningKey())
-                    .parseClaimsJws(token)
-                    .getBody();
-            return new Principal(claims.getId(), claims.getSubject(), Role.valueOf(claims.get("role", String.class)));
-        } catch (Exception e) {
-            return null;
-        }
+    private Claims parse(String token) {
+        return Jwts.parser()
+                .setSigningKeyResolver(keyResolver)
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    private Principal toPrincipal(Claims claims) {
+        return new Principal(claims.getId(), claims.getSubject(), Role.valueOf(claims.get("role", String.class)));
     }
 }
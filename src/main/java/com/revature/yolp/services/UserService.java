@@ -6,6 +6,8 @@ import com.revature.yolp.dtos.requests.NewUserRequest;
 import com.revature.yolp.dtos.responses.Principal;
 import com.revature.yolp.models.Role;
 import com.revature.yolp.models.User;
+import com.revature.yolp.utils.UsernameDirectory;
+import com.revature.yolp.utils.custom_exceptions.DataAccessException;
 import com.revature.yolp.utils.custom_exceptions.InvalidAuthException;
 import com.revature.yolp.utils.custom_exceptions.InvalidUserException;
 
@@ -17,14 +19,32 @@ import java.util.UUID;
 public class UserService {
     /* dependency injection = when a class is dependent on another class */
     private final UserDAO userDAO;
+    /*
+        null = no directory, duplicate checks go to the db
+        otherwise the directory is the answer, hit or miss: it is loaded with every user at startup and learns each signup made here.
+        a name taken on another instance since then looks free, the insert then fails on the UNIQUE constraint and the directory learns it
+     */
+    private final UsernameDirectory usernameDirectory;
 
     public UserService(UserDAO userDAO) {
+        this(userDAO, null);
+    }
+
+    public UserService(UserDAO userDAO, UsernameDirectory usernameDirectory) {
         this.userDAO = userDAO;
+        this.usernameDirectory = usernameDirectory;
     }
 
     public User signup(NewUserRequest req) {
         User createdUser = new User(UUID.randomUUID().toString(), req.getUsername(), req.getPassword1(), Role.DEFAULT);
-        userDAO.save(createdUser);
+        /* save throws if the insert failed, so the directory only ever holds users that exist */
+        try {
+            userDAO.save(createdUser);
+        } catch (InvalidUserException e) {
+            if (usernameDirectory != null) learnTaken(createdUser.getUsername());
+            throw e;
+        }
+        if (usernameDirectory != null) usernameDirectory.put(createdUser.getUsername(), UUID.fromString(createdUser.getId()));
         return createdUser;
     }
 
@@ -47,10 +67,22 @@ public class UserService {
     }
 
     public boolean isDuplicateUsername(String username) {
+        if (usernameDirectory != null) return usernameDirectory.contains(username);
+
         List<String> usernames = userDAO.findAllUsernames();
         return usernames.contains(username);
     }
 
+    /* the name went to another instance, remember it so the next attempt is turned away without an insert */
+    private void learnTaken(String username) {
+        try {
+            String id = userDAO.findIdByUsername(username);
+            if (id != null) usernameDirectory.put(username, UUID.fromString(id));
+        } catch (DataAccessException ignored) {
+            /* the constraint still holds, the directory just stays a signup behind */
+        }
+    }
+
     public boolean isValidPassword(String password) {
         return password.matches("^(?=.*[A-Za-z])(?=.*\\d)[A-Za-z\\d]{8,}$");
     }
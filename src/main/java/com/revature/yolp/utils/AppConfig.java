@@ -0,0 +1,65 @@
+package com.revature.yolp.utils;
+
+import com.revature.yolp.utils.logging.AsyncLogger;
+import org.slf4j.Logger;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.Properties;
+
+/*
+ * purpose of AppConfig is to read db.properties once and share it, instead of every component opening the file itself
+ * the location can be changed with -Dyolp.config=<path>
+ */
+public class AppConfig {
+    private static final Logger logger = AsyncLogger.getLogger(AppConfig.class);
+    private static final String DEFAULT_PATH = "src/main/resources/db.properties";
+
+    private final Properties properties;
+
+    public AppConfig(Properties properties) {
+        this.properties = properties;
+    }
+
+    /* initialization-on-demand holder: the jvm loads Holder (and the file) once, on first use, under the class init lock */
+    private static class Holder {
+        private static final AppConfig instance = load(path());
+    }
+
+    public static AppConfig getInstance() {
+        return Holder.instance;
+    }
+
+    static String path() {
+        return System.getProperty("yolp.config", DEFAULT_PATH);
+    }
+
+    static AppConfig load(String path) {
+        try {
+            return read(path);
+        } catch (IOException e) {
+            logger.warn("Could not read " + path + ", starting without it", e);
+            return new AppConfig(new Properties());
+        }
+    }
+
+    /* like load(), but a missing or unreadable file is left to the caller, e.g. the key reloader that runs every 30s */
+    static AppConfig read(String path) throws IOException {
+        Properties properties = new Properties();
+        try (FileReader reader = new FileReader(path)) {
+            properties.load(reader);
+        }
+        return new AppConfig(properties);
+    }
+
+    public String getProperty(String key) {
+        return properties.getProperty(key);
+    }
+
+    /* a copy, so callers can't change the shared config */
+    public Properties getProperties() {
+        Properties copy = new Properties();
+        copy.putAll(properties);
+        return copy;
+    }
+}
@@ -0,0 +1,184 @@
+package com.revature.yolp.utils;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.revature.yolp.utils.custom_exceptions.PayloadTooLargeException;
+import io.javalin.http.Context;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/*
+ * purpose of BodyCodec is to read request bodies and write response bodies in JSON, Smile or CBOR
+ *
+ * the request format follows Content-Type, the response format follows Accept (JSON when absent or unsupported,
+ * so browsers and existing clients see no change). readers and writers are created once per type and format and reused:
+ * ObjectReader/ObjectWriter are immutable and thread safe, and reusing them skips the per-call root type lookup.
+ * request bodies are capped, by Content-Length up front and by counting bytes for chunked uploads.
+ */
+public class BodyCodec {
+    public static final int DEFAULT_MAX_BODY_BYTES = 64 * 1024;
+
+    public enum Format {
+        JSON("application/json"),
+        SMILE("application/x-jackson-smile"),
+        CBOR("application/cbor");
+
+        private final String mediaType;
+
+        Format(String mediaType) {
+            this.mediaType = mediaType;
+        }
+
+        public String getMediaType() {
+            return mediaType;
+        }
+    }
+
+    private final ObjectMapper[] mappers = new ObjectMapper[Format.values().length];
+    private final ConcurrentMap<Class<?>, AtomicReferenceArray<ObjectReader>> readers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Class<?>, AtomicReferenceArray<ObjectWriter>> writers = new ConcurrentHashMap<>();
+
+    public BodyCodec(ObjectMapper jsonMapper) {
+        mappers[Format.JSON.ordinal()] = jsonMapper;
+        mappers[Format.SMILE.ordinal()] = new SmileMapper();
+        mappers[Format.CBOR.ordinal()] = new CBORMapper();
+    }
+
+    public <T> T read(Context ctx, Class<T> type) throws IOException {
+        return read(ctx, type, DEFAULT_MAX_BODY_BYTES);
+    }
+
+    public <T> T read(Context ctx, Class<T> type, int maxBytes) throws IOException {
+        return read(ctx.req.getInputStream(), ctx.req.getContentLengthLong(), ctx.req.getContentType(), type, maxBytes);
+    }
+
+    public <T> T read(InputStream body, long contentLength, String contentType, Class<T> type, int maxBytes) throws IOException {
+        if (contentLength > maxBytes) throw new PayloadTooLargeException("Request body can be at most " + maxBytes + " bytes");
+        try {
+            return reader(formatOf(contentType), type).readValue(new LimitedInputStream(body, maxBytes));
+        } catch (JsonMappingException e) {
+            /* jackson wraps the limit tripping inside a deserializer, unwrap it so the caller still answers 413 */
+            for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+                if (cause instanceof PayloadTooLargeException) throw (PayloadTooLargeException) cause;
+            }
+            throw e;
+        }
+    }
+
+    /* writes value in the format the client accepts and tells caches the body depends on Accept */
+    public void write(Context ctx, Object value) throws IOException {
+        Format format = negotiate(ctx.header("Accept"));
+        ctx.header("Vary", "Accept");
+        ctx.contentType(format.getMediaType());
+        ctx.result(write(format, value));
+    }
+
+    public byte[] write(Format format, Object value) throws IOException {
+        if (value == null) return mappers[format.ordinal()].writeValueAsBytes(null);
+        return writer(format, value.getClass()).writeValueAsBytes(value);
+    }
+
+    /* Content-Type of a request body, anything unknown is treated as JSON like before */
+    public Format formatOf(String contentType) {
+        if (contentType == null) return Format.JSON;
+        String mediaType = contentType.split(";", 2)[0].trim().toLowerCase(Locale.ROOT);
+        for (Format format : Format.values()) {
+            if (format.getMediaType().equals(mediaType)) return format;
+        }
+        return Format.JSON;
+    }
+
+    /* picks the supported format with the highest q value, earlier entries win ties, wildcards mean JSON */
+    public Format negotiate(String accept) {
+        if (accept == null || accept.isEmpty()) return Format.JSON;
+
+        Format best = null;
+        double bestQuality = 0;
+        for (String range : accept.split(",")) {
+            String[] parts = range.split(";");
+            String mediaType = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = 1;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2));
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+
+            Format format = null;
+            if (mediaType.equals("*/*") || mediaType.equals("application/*")) format = Format.JSON;
+            else for (Format candidate : Format.values()) if (candidate.getMediaType().equals(mediaType)) format = candidate;
+
+            if (format != null && quality > bestQuality) {
+                best = format;
+                bestQuality = quality;
+            }
+        }
+        return best == null ? Format.JSON : best;
+    }
+
+    public ObjectReader reader(Format format, Class<?> type) {
+        AtomicReferenceArray<ObjectReader> perFormat = readers.computeIfAbsent(type, t -> new AtomicReferenceArray<>(mappers.length));
+        ObjectReader reader = perFormat.get(format.ordinal());
+        if (reader == null) {
+            /* racing threads may both create one, the first to publish wins and everybody uses that one */
+            perFormat.compareAndSet(format.ordinal(), null, mappers[format.ordinal()].readerFor(type));
+            reader = perFormat.get(format.ordinal());
+        }
+        return reader;
+    }
+
+    public ObjectWriter writer(Format format, Class<?> type) {
+        AtomicReferenceArray<ObjectWriter> perFormat = writers.computeIfAbsent(type, t -> new AtomicReferenceArray<>(mappers.length));
+        ObjectWriter writer = perFormat.get(format.ordinal());
+        if (writer == null) {
+            perFormat.compareAndSet(format.ordinal(), null, mappers[format.ordinal()].writerFor(type));
+            writer = perFormat.get(format.ordinal());
+        }
+        return writer;
+    }
+
+    /* fails the read as soon as more than maxBytes arrive, whatever Content-Length claimed */
+    private static class LimitedInputStream extends FilterInputStream {
+        private final int maxBytes;
+        private long count;
+
+        private LimitedInputStream(InputStream in, int maxBytes) {
+            super(in);
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) count(1);
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) count(n);
+            return n;
+        }
+
+        private void count(int n) {
+            count += n;
+            if (count > maxBytes) throw new PayloadTooLargeException("Request body can be at most " + maxBytes + " bytes");
+        }
+    }
+}
@@ -2,20 +2,17 @@ package com.revature.yolp.utils;
 
 /* purpose of this class is to bridge the DAO classes with our db */
 
-import java.io.FileReader;
-import java.io.IOException;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
-import java.util.Properties;
 
 /*
  * Singleton design pattern
  * Singleton is a creational design pattern that lets you ensure that a class has only one instance, while providing a global access point to this instance.
  */
 public class ConnectionFactory {
-    /* The field for storing the singleton instance should be declared static */
-    private static ConnectionFactory connectionFactory;
+    /* The field for storing the singleton instance should be declared static (and volatile, so a thread never sees a half built instance) */
+    private static volatile ConnectionFactory connectionFactory;
 
     /* load in the jdbc */
     static {
@@ -26,28 +23,36 @@ public class ConnectionFactory {
         }
     }
 
-    /* class to read properties file */
-    private final Properties props = new Properties();
+    /* connections are pooled, -Dyolp.pool.size caps how many are open at once */
+    private final ConnectionPool pool;
 
     /* The singleton's constructor should always be private to prevent direct construction calls with the `new` operator outside this class */
     private ConnectionFactory() {
-        try {
-            props.load(new FileReader("src/main/resources/db.properties"));
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        AppConfig config = AppConfig.getInstance();
+        String url = config.getProperty("url");
+        String username = config.getProperty("username");
+        String password = config.getProperty("password");
+        pool = new ConnectionPool(() -> DriverManager.getConnection(url, username, password), Integer.getInteger("yolp.pool.size", 10), 5000);
     }
 
     /* The static method that controls access to the singleton instance */
     public static ConnectionFactory getInstance() {
-        /* Ensure that the instance hasn't yet been initialized */
-        if (connectionFactory == null) connectionFactory = new ConnectionFactory();
-        return connectionFactory;
+        /* Ensure that the instance hasn't yet been initialized, the second check under the lock stops two threads from both creating one (and a pool each) */
+        ConnectionFactory instance = connectionFactory;
+        if (instance == null) {
+            synchronized (ConnectionFactory.class) {
+                instance = connectionFactory;
+                if (instance == null) connectionFactory = instance = new ConnectionFactory();
+            }
+        }
+        return instance;
     }
 
     public Connection getConnection() throws SQLException {
-        Connection con = DriverManager.getConnection(props.getProperty("url"), props.getProperty("username"), props.getProperty("password"));
-        if (con == null) throw new RuntimeException("Could not establish connection with the database!");
-        return con;
+        return pool.getConnection();
+    }
+
+    public ConnectionPool getPool() {
+        return pool;
     }
 }
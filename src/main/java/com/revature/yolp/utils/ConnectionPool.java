@@ -0,0 +1,199 @@
+package com.revature.yolp.utils;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * purpose of ConnectionPool is to reuse physical db connections instead of opening one per dao call
+ *
+ * callers get a proxy and keep using try-with-resources: closing the proxy closes the statements it created,
+ * rolls back anything left uncommitted, restores autocommit and puts the physical connection back.
+ * a semaphore caps the number of connections handed out, a caller waits up to acquireTimeoutMillis for one.
+ * connections idle for longer than VALIDATE_AFTER_MILLIS are checked with isValid before being handed out again.
+ */
+public class ConnectionPool {
+    private static final long VALIDATE_AFTER_MILLIS = 30000;
+    private static final int VALIDATE_TIMEOUT_SECONDS = 2;
+
+    @FunctionalInterface
+    public interface ConnectionSource {
+        Connection open() throws SQLException;
+    }
+
+    private final ConnectionSource source;
+    private final int maxSize;
+    private final long acquireTimeoutMillis;
+    private final Semaphore permits;
+    private final Deque<IdleConnection> idle = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger open = new AtomicInteger();
+
+    public ConnectionPool(ConnectionSource source, int maxSize, long acquireTimeoutMillis) {
+        if (maxSize < 1) throw new IllegalArgumentException("Pool size needs to be at least 1");
+        this.source = source;
+        this.maxSize = maxSize;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        this.permits = new Semaphore(maxSize, true);
+    }
+
+    public Connection getConnection() throws SQLException {
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS))
+                throw new SQLException("Timed out after " + acquireTimeoutMillis + "ms waiting for one of " + maxSize + " db connections");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a db connection", e);
+        }
+
+        try {
+            Connection physical = takeIdle();
+            if (physical == null) physical = openPhysical();
+            return wrap(physical);
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /* opens connections ahead of traffic so the first requests don't pay for the tcp + auth handshake, returns how many are idle */
+    public int prime(int count) throws SQLException {
+        int target = Math.min(count, maxSize);
+        List<Connection> borrowed = new ArrayList<>();
+        try {
+            while (borrowed.size() < target) borrowed.add(getConnection());
+        } finally {
+            for (Connection con : borrowed) con.close();
+        }
+        return idle.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public int getOpenCount() {
+        return open.get();
+    }
+
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    public int getActiveCount() {
+        return maxSize - permits.availablePermits();
+    }
+
+    private Connection takeIdle() {
+        IdleConnection candidate;
+        while ((candidate = idle.pollFirst()) != null) {
+            if (System.currentTimeMillis() - candidate.releasedAt < VALIDATE_AFTER_MILLIS || isValid(candidate.connection))
+                return candidate.connection;
+            discard(candidate.connection);
+        }
+        return null;
+    }
+
+    private Connection openPhysical() throws SQLException {
+        Connection physical = source.open();
+        if (physical == null) throw new SQLException("Could not establish connection with the database!");
+        open.incrementAndGet();
+        return physical;
+    }
+
+    private void release(Connection physical, List<Statement> statements) {
+        try {
+            for (Statement statement : statements) statement.close();
+            if (!physical.getAutoCommit()) {
+                physical.rollback();
+                physical.setAutoCommit(true);
+            }
+            physical.clearWarnings();
+            idle.offerFirst(new IdleConnection(physical, System.currentTimeMillis()));
+        } catch (SQLException e) {
+            discard(physical);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private boolean isValid(Connection physical) {
+        try {
+            return physical.isValid(VALIDATE_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void discard(Connection physical) {
+        open.decrementAndGet();
+        try {
+            physical.close();
+        } catch (SQLException ignored) {
+        }
+    }
+
+    private Connection wrap(Connection physical) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, new Lease(physical));
+    }
+
+    /* one checkout of a physical connection, dead once closed */
+    private class Lease implements InvocationHandler {
+        private final Connection physical;
+        private final List<Statement> statements = new ArrayList<>();
+        private boolean closed;
+
+        private Lease(Connection physical) {
+            this.physical = physical;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        release(physical, statements);
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection{" + physical + (closed ? ", closed" : "") + "}";
+            }
+            if (closed) throw new SQLException("Connection has been returned to the pool");
+
+            try {
+                Object result = method.invoke(physical, args);
+                if (result instanceof Statement) statements.add((Statement) result);
+                return result;
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    private static class IdleConnection {
+        private final Connection connection;
+        private final long releasedAt;
+
+        private IdleConnection(Connection connection, long releasedAt) {
+            this.connection = connection;
+            this.releasedAt = releasedAt;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.revature.yolp.utils;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/* purpose of CsvWriter is to write RFC 4180 rows straight to a Writer, one row at a time */
+public class CsvWriter {
+    private final Writer out;
+
+    public CsvWriter(Writer out) {
+        this.out = out;
+    }
+
+    public void writeRow(Object... fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) out.write(',');
+            writeField(fields[i] == null ? "" : String.valueOf(fields[i]));
+        }
+        out.write("\r\n");
+    }
+
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    private void writeField(String field) throws IOException {
+        /* fields starting with = + - @ would be run as formulas by spreadsheet apps */
+        if (!field.isEmpty() && "=+-@".indexOf(field.charAt(0)) >= 0 && !isNumber(field)) field = "'" + field;
+
+        boolean quote = field.indexOf(',') >= 0 || field.indexOf('"') >= 0 || field.indexOf('\n') >= 0 || field.indexOf('\r') >= 0;
+        if (!quote) {
+            out.write(field);
+            return;
+        }
+
+        out.write('"');
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (c == '"') out.write('"');
+            out.write(c);
+        }
+        out.write('"');
+    }
+
+    private static boolean isNumber(String field) {
+        return field.matches("[-+]?\\d+(\\.\\d+)?");
+    }
+}
@@ -0,0 +1,39 @@
+package com.revature.yolp.utils;
+
+/* entity tag comparisons for conditional requests (RFC 7232) */
+public class EntityTags {
+    private EntityTags() {
+    }
+
+    /*
+        whether an If-None-Match header matches the current etag: "*", or any tag of the comma separated list under the weak
+        comparison, i.e. W/"x" matches "x". a malformed header matches nothing, so the full response is sent
+     */
+    public static boolean noneMatchHits(String header, String etag) {
+        if (header == null) return false;
+        String opaque = opaqueTag(etag);
+
+        int i = 0;
+        int length = header.length();
+        while (i < length) {
+            char c = header.charAt(i);
+            if (c == ' ' || c == '\t' || c == ',') {
+                i++;
+                continue;
+            }
+            if (c == '*') return true;
+
+            if (header.startsWith("W/", i)) i += 2;
+            if (i >= length || header.charAt(i) != '"') return false;
+            int end = header.indexOf('"', i + 1);
+            if (end < 0) return false;
+            if (header.substring(i, end + 1).equals(opaque)) return true;
+            i = end + 1;
+        }
+        return false;
+    }
+
+    private static String opaqueTag(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+}
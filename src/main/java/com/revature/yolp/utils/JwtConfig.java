@@ -3,39 +3,137 @@ package com.revature.yolp.utils;
 import io.jsonwebtoken.SignatureAlgorithm;
 
 import javax.crypto.spec.SecretKeySpec;
-import javax.xml.bind.DatatypeConverter;
-import java.io.FileReader;
-import java.io.IOException;
 import java.security.Key;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Properties;
 
+/*
+ * purpose of JwtConfig is to hold the keys tokens are signed and verified with
+ *
+ * several keys can be active at once, each with a key id (the jwt "kid" header):
+ *     jwt.keys=2022-12,2022-11        the first one signs new tokens, the others only verify
+ *     jwt.key.2022-12=<base64>
+ *     jwt.key.2022-11=<base64>
+ * without jwt.keys the old single "salt" key is used, under the kid "default" (tokens without a kid are verified with it too)
+ *
+ * to rotate: put the new key first, reload() (Router re-reads the config file every 30s), and drop the old key whenever.
+ * a key dropped from the config keeps verifying for one token lifetime, so nobody is logged out. that grace only lasts while
+ * this process runs, keep the old key in jwt.keys for an hour if a restart is likely.
+ */
 public class JwtConfig {
+    public static final String DEFAULT_KID = "default";
+
     private final int expiration = 60 * 60 * 1000;
+    /* a token can be refreshed until this long after the login that started the session */
+    private final long maxSessionAge;
     private final SignatureAlgorithm sigAlg = SignatureAlgorithm.HS256;
 
-    private final Key signingKey;
-    private final Properties properties = new Properties();
+    /* swapped as a whole on reload, so a reader never sees a half-updated set of keys */
+    private volatile KeyRing keyRing;
 
     public JwtConfig() {
-        try {
-            properties.load(new FileReader("src/main/resources/db.properties"));
-        } catch (IOException e) {
-            e.printStackTrace();
+        this(AppConfig.getInstance().getProperties());
+    }
+
+    public JwtConfig(Properties properties) {
+        this.maxSessionAge = Long.parseLong(properties.getProperty("jwt.session.max.minutes", "720")) * 60 * 1000;
+        this.keyRing = new KeyRing(readKeys(properties), Collections.emptyMap());
+    }
+
+    /* swaps in the keys from properties, keys that disappeared keep verifying until the tokens they signed have expired */
+    public synchronized void reload(Properties properties) {
+        LinkedHashMap<String, Key> keys = readKeys(properties);
+        long now = System.currentTimeMillis();
+
+        Map<String, Long> retired = new HashMap<>();
+        for (Map.Entry<String, Long> entry : keyRing.retiredAt.entrySet()) {
+            if (!keys.containsKey(entry.getKey()) && now - entry.getValue() < expiration) retired.put(entry.getKey(), entry.getValue());
         }
+        for (Map.Entry<String, Key> entry : keyRing.keys.entrySet()) {
+            String kid = entry.getKey();
+            if (!keys.containsKey(kid) && !keyRing.retiredAt.containsKey(kid)) retired.put(kid, now);
+        }
+
+        LinkedHashMap<String, Key> merged = new LinkedHashMap<>(keys);
+        for (String kid : retired.keySet()) merged.put(kid, keyRing.keys.get(kid));
+        keyRing = new KeyRing(merged, retired);
+    }
+
+    private LinkedHashMap<String, Key> readKeys(Properties properties) {
+        LinkedHashMap<String, Key> keys = new LinkedHashMap<>();
+        String kids = properties.getProperty("jwt.keys");
+
+        if (kids == null || kids.trim().isEmpty()) {
+            String salt = properties.getProperty("salt");
+            if (salt == null) throw new IllegalArgumentException("No signing key configured, set jwt.keys or salt");
+            keys.put(DEFAULT_KID, toKey(salt));
+            return keys;
+        }
+
+        for (String kid : kids.split(",")) {
+            kid = kid.trim();
+            if (kid.isEmpty()) continue;
+            String secret = properties.getProperty("jwt.key." + kid);
+            if (secret == null) throw new IllegalArgumentException("No secret configured for key id " + kid);
+            keys.put(kid, toKey(secret));
+        }
+        if (keys.isEmpty()) throw new IllegalArgumentException("No signing key configured, set jwt.keys or salt");
+        return keys;
+    }
 
-        byte[] saltyBytes = DatatypeConverter.parseBase64Binary(properties.getProperty("salt"));
-        signingKey = new SecretKeySpec(saltyBytes, sigAlg.getJcaName());
+    private Key toKey(String base64) {
+        /* the mime decoder skips line breaks and stray characters, as lenient as the DatatypeConverter this replaced */
+        return new SecretKeySpec(Base64.getMimeDecoder().decode(base64), sigAlg.getJcaName());
     }
 
     public int getExpiration() {
         return expiration;
     }
 
+    public long getMaxSessionAge() {
+        return maxSessionAge;
+    }
+
     public SignatureAlgorithm getSigAlg() {
         return sigAlg;
     }
 
-    public Key getSigningKey() {
-        return signingKey;
+    public KeyRing getKeyRing() {
+        return keyRing;
+    }
+
+    /* immutable snapshot of the keys: the signing key first, then the ones that only verify */
+    public static final class KeyRing {
+        private final String signingKeyId;
+        private final Map<String, Key> keys;
+        /* key id -> when it was dropped from the config */
+        private final Map<String, Long> retiredAt;
+
+        private KeyRing(LinkedHashMap<String, Key> keys, Map<String, Long> retiredAt) {
+            this.signingKeyId = keys.keySet().iterator().next();
+            this.keys = Collections.unmodifiableMap(keys);
+            this.retiredAt = Collections.unmodifiableMap(retiredAt);
+        }
+
+        public String getSigningKeyId() {
+            return signingKeyId;
+        }
+
+        public Key getSigningKey() {
+            return keys.get(signingKeyId);
+        }
+
+        /* the key for a token's kid header, tokens issued before key ids existed have none. null if the kid is unknown */
+        public Key getVerificationKey(String kid) {
+            return keys.get(kid == null ? DEFAULT_KID : kid);
+        }
+
+        public boolean isRetired(String kid) {
+            return retiredAt.containsKey(kid);
+        }
     }
 }
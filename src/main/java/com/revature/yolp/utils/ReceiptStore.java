@@ -0,0 +1,198 @@
+package com.revature.yolp.utils;
+
+import com.revature.yolp.utils.custom_exceptions.PayloadTooLargeException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+ * purpose of ReceiptStore is to keep receipt files on disk, content addressed by their sha-256 hash
+ *
+ * uploads are streamed through a reused direct buffer into a temp file while being hashed, so the heap never holds a whole file.
+ * the temp file is then hard linked to <root>/<first 2 hex chars>/<hash>. link(2) refuses to replace an existing file, so if two
+ * uploads of the same bytes race exactly one of them creates the file and the other is reported as a duplicate. the temp file is always dropped.
+ *
+ * a file is shared by every receipt with the same bytes, so whoever records a file elsewhere (ReceiptService, in the db) holds
+ * lockFor(hash) from commit() until the record is saved, and whoever deletes one holds it from the "is it referenced" check to the
+ * delete. otherwise a delete can land between another upload finding the file and saving its row. the locks are per process,
+ * one process per receipt directory.
+ */
+public class ReceiptStore {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int LOCK_STRIPES = 64;
+
+    /* jetty request threads are pooled, so one direct buffer per thread is reused across uploads */
+    private static final ThreadLocal<ByteBuffer> buffers = ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(BUFFER_SIZE));
+
+    private final Path root;
+    private final Path tmp;
+    private final Lock[] locks = new Lock[LOCK_STRIPES];
+
+    public ReceiptStore(Path root) {
+        this.root = root;
+        this.tmp = root.resolve("tmp");
+        for (int i = 0; i < locks.length; i++) locks[i] = new ReentrantLock();
+        try {
+            Files.createDirectories(tmp);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create receipt directory " + root, e);
+        }
+    }
+
+    /* the result of storing one upload */
+    public static class StoredFile {
+        private final String hash;
+        private final long size;
+        private final boolean duplicate;
+
+        public StoredFile(String hash, long size, boolean duplicate) {
+            this.hash = hash;
+            this.size = size;
+            this.duplicate = duplicate;
+        }
+
+        public String getHash() {
+            return hash;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        public boolean isDuplicate() {
+            return duplicate;
+        }
+    }
+
+    /* an upload that has been streamed to a temp file and hashed but is not in the store yet, close() drops the temp file */
+    public static class Upload implements Closeable {
+        private final Path temp;
+        private final String hash;
+        private final long size;
+
+        private Upload(Path temp, String hash, long size) {
+            this.temp = temp;
+            this.hash = hash;
+            this.size = size;
+        }
+
+        public String getHash() {
+            return hash;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        @Override
+        public void close() throws IOException {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /* receive() and commit() in one go, for callers that don't record the file anywhere */
+    public StoredFile store(InputStream in, long maxBytes) throws IOException {
+        try (Upload upload = receive(in, maxBytes)) {
+            return commit(upload);
+        }
+    }
+
+    public Upload receive(InputStream in, long maxBytes) throws IOException {
+        Path temp = Files.createTempFile(tmp, "upload-", ".part");
+        try {
+            MessageDigest digest = sha256();
+            long size = 0;
+
+            ByteBuffer buffer = buffers.get();
+            buffer.clear();
+            try (ReadableByteChannel src = Channels.newChannel(in);
+                 FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                while (src.read(buffer) != -1) {
+                    buffer.flip();
+                    size += buffer.remaining();
+                    if (size > maxBytes) throw new PayloadTooLargeException("Receipt is larger than " + maxBytes + " bytes");
+
+                    /* update() consumes the buffer, rewind to the same spot for the write instead of allocating a duplicate() */
+                    int position = buffer.position();
+                    digest.update(buffer);
+                    buffer.position(position);
+                    while (buffer.hasRemaining()) out.write(buffer);
+                    buffer.clear();
+                }
+            }
+
+            return new Upload(temp, toHex(digest.digest()), size);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+    /* moves a received upload into the store, or reports a duplicate if the bytes are already there */
+    public StoredFile commit(Upload upload) throws IOException {
+        Path target = resolve(upload.hash);
+        if (Files.exists(target)) return new StoredFile(upload.hash, upload.size, true);
+
+        Files.createDirectories(target.getParent());
+        try {
+            Files.createLink(target, upload.temp);
+        } catch (FileAlreadyExistsException e) {
+            /* another upload of the same bytes created the file between the exists() check and here */
+            return new StoredFile(upload.hash, upload.size, true);
+        }
+        return new StoredFile(upload.hash, upload.size, false);
+    }
+
+    /* the lock guarding the file with this hash, see the class comment. striped, so unrelated hashes may share one */
+    public Lock lockFor(String hash) {
+        resolve(hash);
+        return locks[Integer.parseInt(hash.substring(0, 2), 16) % LOCK_STRIPES];
+    }
+
+    /* opens a stored file for reading, e.g. to map it into a response */
+    public FileChannel open(String hash) throws IOException {
+        return FileChannel.open(resolve(hash), StandardOpenOption.READ);
+    }
+
+    /* for a file that is referenced by nothing, call it holding lockFor(hash), see ReceiptService */
+    public void delete(String hash) throws IOException {
+        Files.deleteIfExists(resolve(hash));
+    }
+
+    public Path resolve(String hash) {
+        if (hash == null || !hash.matches("[0-9a-f]{64}")) throw new IllegalArgumentException("Not a sha-256 hash: " + hash);
+        return root.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        char[] hex = "0123456789abcdef".toCharArray();
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = hex[(bytes[i] >> 4) & 0xf];
+            chars[i * 2 + 1] = hex[bytes[i] & 0xf];
+        }
+        return new String(chars);
+    }
+}
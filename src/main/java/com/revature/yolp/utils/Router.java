@@ -1,34 +1,139 @@
 package com.revature.yolp.utils;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.revature.yolp.daos.ReceiptDAO;
+import com.revature.yolp.daos.ReimbursementDAO;
+import com.revature.yolp.daos.ReimbursementQueryBuilder;
+import com.revature.yolp.daos.ReportDAO;
 import com.revature.yolp.daos.UserDAO;
 import com.revature.yolp.handlers.AuthHandler;
+import com.revature.yolp.handlers.HealthHandler;
+import com.revature.yolp.handlers.ReceiptHandler;
+import com.revature.yolp.handlers.ReimbursementHandler;
+import com.revature.yolp.handlers.ReportHandler;
 import com.revature.yolp.handlers.UserHandler;
+import com.revature.yolp.services.PendingQueueService;
+import com.revature.yolp.services.ReceiptService;
+import com.revature.yolp.services.ReimbursementService;
+import com.revature.yolp.services.ReportService;
 import com.revature.yolp.services.TokenService;
 import com.revature.yolp.services.UserService;
+import com.revature.yolp.utils.audit.AuditJournal;
+import com.revature.yolp.utils.custom_exceptions.PayloadTooLargeException;
+import com.revature.yolp.utils.logging.AsyncLogger;
+import com.revature.yolp.utils.logging.CorrelationId;
 import io.javalin.Javalin;
+import io.javalin.http.ServiceUnavailableResponse;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import static io.javalin.apibuilder.ApiBuilder.*;
 
 /* purpose of router class is to map endpoints */
 public class Router {
-    public static void router(Javalin app) {
-        ObjectMapper mapper = new ObjectMapper();
+    private static final Logger logger = AsyncLogger.getLogger(Router.class);
+
+    /* wires everything up and queues the warm-up phases, the caller runs startupSequence.warmUp() once jetty is listening */
+    public static void router(Javalin app, ObjectMapper mapper, StartupSequence startupSequence) {
+        startupSequence.time("config", AppConfig::getInstance);
         JwtConfig jwtConfig = new JwtConfig();
-        TokenService tokenService = new TokenService(jwtConfig);
+        UserDAO userDAO = new UserDAO();
+        TokenService tokenService = new TokenService(jwtConfig, userDAO);
+
+        /* signing keys are re-read from the config file every 30s, a broken file keeps the keys we have */
+        ScheduledExecutorService keyReloader = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "jwt-key-reloader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        keyReloader.scheduleWithFixedDelay(() -> {
+            try {
+                jwtConfig.reload(AppConfig.read(AppConfig.path()).getProperties());
+            } catch (IOException e) {
+                /* AppConfig.load already warned about it at startup, no need to repeat that every 30s */
+                logger.debug("Could not read the config file, keeping the current signing keys: " + e);
+            } catch (RuntimeException e) {
+                logger.warn("Could not reload signing keys, keeping the current ones", e);
+            }
+        }, 30, 30, TimeUnit.SECONDS);
+        app.events(event -> event.serverStopping(keyReloader::shutdown));
+        BodyCodec codec = new BodyCodec(mapper);
 
         /* User */
-        UserDAO userDAO = new UserDAO();
-        UserService userService = new UserService(userDAO);
-        UserHandler userHandler = new UserHandler(userService, tokenService, mapper);
+        /* off heap username -> id index, filled during warm-up and kept current by signup */
+        UsernameDirectory usernameDirectory = new UsernameDirectory(Integer.getInteger("yolp.users.expected", 1 << 16));
+        UserService userService = new UserService(userDAO, usernameDirectory);
+        UserHandler userHandler = new UserHandler(userService, tokenService, codec);
 
         /* auth */
-        AuthHandler authHandler = new AuthHandler(userService, tokenService, mapper);
+        AuthHandler authHandler = new AuthHandler(userService, tokenService, codec);
+
+        /* Audit */
+        /* 16 MB segments hold 262k records, unflushed records are at most a second old if the machine dies */
+        AuditJournal auditJournal = new AuditJournal(Paths.get(System.getProperty("yolp.audit.dir", "audit")), 16 * 1024 * 1024, 1000);
+        app.events(event -> event.serverStopping(auditJournal::close));
+
+        /* Reimbursement */
+        ReimbursementDAO reimbursementDAO = new ReimbursementDAO();
+        SseBroadcaster broadcaster = new SseBroadcaster(4);
+        app.events(event -> event.serverStopping(broadcaster::shutdown));
+        PendingQueueService pendingQueueService = new PendingQueueService(reimbursementDAO, broadcaster, mapper);
+        ReimbursementService reimbursementService = new ReimbursementService(reimbursementDAO, new ReimbursementQueryBuilder(), pendingQueueService, auditJournal);
+        ReimbursementHandler reimbursementHandler = new ReimbursementHandler(reimbursementService, pendingQueueService, tokenService, codec);
+
+        /* Receipt */
+        ReceiptStore receiptStore = new ReceiptStore(Paths.get(System.getProperty("yolp.receipts.dir", "receipts")));
+        ReceiptService receiptService = new ReceiptService(new ReceiptDAO(), reimbursementDAO, receiptStore, pendingQueueService);
+        ReceiptHandler receiptHandler = new ReceiptHandler(receiptService, tokenService, codec);
+
+        /* Report */
+        ReportService reportService = new ReportService(new ReportDAO(), reimbursementDAO);
+        ReportHandler reportHandler = new ReportHandler(reportService, tokenService, codec);
+
+        /* Health */
+        HealthHandler healthHandler = new HealthHandler(startupSequence);
+
+        /* warm-up, in order: a failing phase keeps /health/ready at 503 and is retried until the startup deadline */
+        startupSequence.then("connection pool", () -> {
+            try {
+                ConnectionFactory.getInstance().getPool().prime(ConnectionFactory.getInstance().getPool().getMaxSize());
+            } catch (SQLException e) {
+                throw new IllegalStateException("Could not open db connections", e);
+            }
+        });
+        startupSequence.then("token warm-up", () -> WarmUp.tokens(tokenService, WarmUp.DEFAULT_ROUNDS));
+        startupSequence.then("body codec warm-up", () -> WarmUp.bodies(codec, WarmUp.DEFAULT_ROUNDS));
+        startupSequence.then("pending queue", pendingQueueService::seed);
+        startupSequence.then("username directory", () -> usernameDirectory.loadFrom(userDAO));
 
         /* Restaurant */
 
         /* Review */
 
+        /* every request gets a correlation id: echoed back in the response and prefixed to every log line written while serving it */
+        app.before(ctx -> ctx.header(CorrelationId.HEADER, CorrelationId.begin(ctx.header(CorrelationId.HEADER))));
+        app.after(ctx -> CorrelationId.clear());
+
+        /* until warm-up is done only the health endpoints answer, everything else is turned away with 503 */
+        app.before(ctx -> {
+            if (!startupSequence.isReady() && !ctx.path().startsWith(ctx.contextPath() + "/health")) {
+                ctx.header("Retry-After", "1");
+                throw new ServiceUnavailableResponse("Warming up");
+            }
+        });
+
+        /* request bodies over the codec limits, whichever handler read them */
+        app.exception(PayloadTooLargeException.class, (e, ctx) -> {
+            ctx.status(413); // PAYLOAD TOO LARGE
+            ctx.json(e);
+        });
+
         /* handler groups */
         /* routes -> handler -> service -> dao */
         app.routes(() -> {
@@ -42,6 +147,31 @@ public class Router {
             /* auth */
             path("/auth", () -> {
                 post(authHandler::authenticateUser);
+                post("/refresh", authHandler::refresh);
+            });
+
+            /* reimbursement */
+            path("/reimbursements", () -> {
+                get(reimbursementHandler::getHistory);
+                post(reimbursementHandler::submit);
+                patch(reimbursementHandler::resolveAll);
+                get("/pending", reimbursementHandler::getPending);
+                get("/pending/stream", reimbursementHandler::streamPending);
+                patch("/{id}", reimbursementHandler::resolve);
+                get("/{id}/receipt", receiptHandler::download);
+                put("/{id}/receipt", receiptHandler::upload);
+            });
+
+            /* report */
+            path("/reports", () -> {
+                get("/spend", reportHandler::getSpend);
+                get("/reimbursements.csv", reportHandler::exportCsv);
+            });
+
+            /* health */
+            path("/health", () -> {
+                get("/live", healthHandler::live);
+                get("/ready", healthHandler::ready);
             });
         });
     }
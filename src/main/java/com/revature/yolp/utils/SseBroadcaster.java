@@ -0,0 +1,212 @@
+package com.revature.yolp.utils;
+
+import io.javalin.http.sse.SseClient;
+import org.eclipse.jetty.server.Request;
+
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * purpose of SseBroadcaster is to fan events out to server-sent-event subscribers without blocking the publishing thread
+ *
+ * publish() only offers the event to each subscriber's bounded queue; a small pool of writer threads drains the queues onto the sockets.
+ * a subscriber whose queue is full is too slow to keep up and gets disconnected, it will reconnect and receive a fresh snapshot.
+ * a subscriber that stops reading blocks the writer thread on its socket; a watchdog aborts any write that takes longer than the write
+ * timeout, so a few stalled clients can't hold every writer thread and stop the fan-out for everyone else.
+ */
+public class SseBroadcaster {
+    public static final int MAX_QUEUED_EVENTS = 256;
+    public static final long DEFAULT_WRITE_TIMEOUT_MILLIS = 10_000;
+    private static final long HEARTBEAT_SECONDS = 20;
+
+    /* where events for one subscriber end up, SseClient in production */
+    public interface EventSink {
+        void send(String event, String data);
+
+        void comment(String comment);
+
+        void close();
+
+        /* tears the connection down from another thread, so that a send() blocked on it fails */
+        void abort();
+    }
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    /* subscribers a writer is draining right now, including ones already disconnected, watched for stalled writes */
+    private final Set<Subscriber> busy = ConcurrentHashMap.newKeySet();
+    private final ExecutorService writers;
+    private final ScheduledExecutorService heartbeat;
+    private final long writeTimeoutNanos;
+
+    public SseBroadcaster(int writerThreads) {
+        this(writerThreads, DEFAULT_WRITE_TIMEOUT_MILLIS);
+    }
+
+    public SseBroadcaster(int writerThreads, long writeTimeoutMillis) {
+        this.writers = Executors.newFixedThreadPool(writerThreads, daemonThreads("sse-writer"));
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(daemonThreads("sse-heartbeat"));
+        this.writeTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(writeTimeoutMillis);
+        heartbeat.scheduleAtFixedRate(() -> publish(null, "keepalive"), HEARTBEAT_SECONDS, HEARTBEAT_SECONDS, TimeUnit.SECONDS);
+        long checkMillis = Math.max(10, Math.min(1000, writeTimeoutMillis / 4));
+        heartbeat.scheduleWithFixedDelay(this::abortStalledWrites, checkMillis, checkMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /* registers a javalin sse client, the first event it receives is the given one (e.g. a snapshot) */
+    public void subscribe(SseClient client, String event, String data) {
+        Subscriber subscriber = subscribe(new EventSink() {
+            @Override
+            public void send(String event, String data) {
+                client.sendEvent(event, data);
+            }
+
+            @Override
+            public void comment(String comment) {
+                client.sendComment(comment);
+            }
+
+            @Override
+            public void close() {
+                client.close();
+            }
+
+            @Override
+            public void abort() {
+                /* closes the socket under jetty's blocked write, which fails it and completes the async request (and so calls onClose) */
+                Request.getBaseRequest(client.ctx.req).getHttpChannel().abort(new TimeoutException("SSE write timed out"));
+            }
+        }, event, data);
+        client.onClose(subscriber::drop);
+    }
+
+    public Subscriber subscribe(EventSink sink, String event, String data) {
+        Subscriber subscriber = new Subscriber(sink);
+        subscriber.offer(event, data);
+        subscribers.add(subscriber);
+        return subscriber;
+    }
+
+    /* an event of null is sent as an sse comment */
+    public void publish(String event, String data) {
+        for (Subscriber subscriber : subscribers) subscriber.offer(event, data);
+    }
+
+    private void abortStalledWrites() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : busy) {
+            long started = subscriber.writeStarted;
+            if (started != 0 && now - started > writeTimeoutNanos) {
+                subscriber.drop();
+                subscriber.writeStarted = 0;
+                try {
+                    subscriber.sink.abort();
+                } catch (RuntimeException ignored) {
+                    /* already gone */
+                }
+            }
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    public void shutdown() {
+        heartbeat.shutdownNow();
+        writers.shutdownNow();
+    }
+
+    private static final class Event {
+        private final String name;
+        private final String data;
+
+        private Event(String name, String data) {
+            this.name = name;
+            this.data = data;
+        }
+    }
+
+    public final class Subscriber {
+        private final EventSink sink;
+        private final BlockingQueue<Event> queue = new ArrayBlockingQueue<>(MAX_QUEUED_EVENTS);
+        /* true while a writer owns the sink, and for good once it has been closed */
+        private final AtomicBoolean draining = new AtomicBoolean();
+        /* System.nanoTime() the current write started at, 0 between writes */
+        private volatile long writeStarted;
+        /* true from construction, the snapshot may be drained before subscribe() has added us to subscribers */
+        private volatile boolean connected = true;
+
+        private Subscriber(EventSink sink) {
+            this.sink = sink;
+        }
+
+        private void offer(String event, String data) {
+            if (!queue.offer(new Event(event, data))) {
+                disconnect();
+                return;
+            }
+            if (draining.compareAndSet(false, true)) writers.execute(this::drain);
+        }
+
+        /* at most one writer drains a subscriber at a time, so events stay in order */
+        private void drain() {
+            busy.add(this);
+            try {
+                Event event;
+                while (connected && (event = queue.poll()) != null) {
+                    writeStarted = System.nanoTime();
+                    if (event.name == null) sink.comment(event.data);
+                    else sink.send(event.name, event.data);
+                    writeStarted = 0;
+                }
+            } catch (RuntimeException e) {
+                drop();
+            } finally {
+                writeStarted = 0;
+                busy.remove(this);
+                draining.set(false);
+                if (!connected) closeOnce();
+                else if (!queue.isEmpty() && draining.compareAndSet(false, true)) writers.execute(this::drain);
+            }
+        }
+
+        /* returns false if it was already dropped */
+        private boolean drop() {
+            connected = false;
+            return subscribers.remove(this);
+        }
+
+        private void disconnect() {
+            if (drop()) {
+                queue.clear();
+                closeOnce();
+            }
+        }
+
+        /* takes the draining flag for good, so the sink is closed exactly once and never while a writer is still sending to it */
+        private void closeOnce() {
+            if (draining.compareAndSet(false, true)) {
+                queue.clear();
+                writers.execute(sink::close);
+            }
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
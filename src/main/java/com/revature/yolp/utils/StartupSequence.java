@@ -0,0 +1,152 @@
+package com.revature.yolp.utils;
+
+import com.revature.yolp.dtos.responses.StartupPhase;
+import com.revature.yolp.utils.logging.AsyncLogger;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * purpose of StartupSequence is to time every startup phase and to hold the server back from traffic until it is warm
+ *     time(name, task)    runs now, e.g. wiring routes or starting jetty
+ *     then(name, task)    queued for warmUp(), e.g. priming the pool or warming the jit
+ * the server is only ready once every phase has succeeded. a failed then() phase is retried in the background with
+ * exponential backoff, and if it still fails at the deadline (or a time() phase failed, which can't be retried) the
+ * sequence gives up and /health/live goes 503 so the orchestrator restarts the process instead of leaving it unready.
+ */
+public class StartupSequence {
+    private static final Logger logger = AsyncLogger.getLogger(StartupSequence.class);
+
+    public static final long DEFAULT_FIRST_RETRY_MILLIS = 500;
+    public static final long DEFAULT_MAX_RETRY_MILLIS = 30_000;
+    public static final long DEFAULT_DEADLINE_MILLIS = TimeUnit.SECONDS.toMillis(Long.getLong("yolp.startup.deadline.seconds", 300));
+
+    private final Map<String, Runnable> pendingPhases = new LinkedHashMap<>();
+    private final List<StartupPhase> phases = Collections.synchronizedList(new ArrayList<>());
+    private final long createdAt = System.nanoTime();
+    private final long firstRetryMillis;
+    private final long maxRetryMillis;
+    private final long deadlineMillis;
+
+    private volatile boolean ready;
+    private volatile boolean failed;
+    private volatile boolean gaveUp;
+
+    public StartupSequence() {
+        this(DEFAULT_FIRST_RETRY_MILLIS, DEFAULT_MAX_RETRY_MILLIS, DEFAULT_DEADLINE_MILLIS);
+    }
+
+    /* the deadline counts from construction, i.e. it covers the whole startup and not just the retries */
+    public StartupSequence(long firstRetryMillis, long maxRetryMillis, long deadlineMillis) {
+        this.firstRetryMillis = firstRetryMillis;
+        this.maxRetryMillis = maxRetryMillis;
+        this.deadlineMillis = deadlineMillis;
+    }
+
+    public void time(String name, Runnable task) {
+        if (!run(name, task)) failed = true;
+    }
+
+    public synchronized void then(String name, Runnable task) {
+        pendingPhases.put(name, task);
+    }
+
+    /* runs the queued phases in the order they were added, then flips readiness if nothing failed, else starts retrying */
+    public synchronized boolean warmUp() {
+        Map<String, Runnable> failedPhases = runAll(pendingPhases);
+        pendingPhases.clear();
+
+        long total = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - createdAt);
+        if (failed) {
+            giveUp("a startup phase that can't be retried failed");
+        } else if (failedPhases.isEmpty()) {
+            ready = true;
+            logger.info("Ready for traffic after " + total + "ms");
+        } else {
+            logger.error("Not ready after " + total + "ms, retrying " + failedPhases.keySet() + ", see /health/ready");
+            retry(failedPhases);
+        }
+        return ready;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /* false once the sequence has given up on becoming ready */
+    public boolean isLive() {
+        return !gaveUp;
+    }
+
+    public List<StartupPhase> getPhases() {
+        synchronized (phases) {
+            return new ArrayList<>(phases);
+        }
+    }
+
+    private boolean run(String name, Runnable task) {
+        long start = System.nanoTime();
+        String error = null;
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            error = e.toString();
+            logger.error("Startup phase " + name + " failed", e);
+        }
+
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        phases.add(new StartupPhase(name, millis, error));
+        logger.info("Startup phase " + name + " took " + millis + "ms");
+        return error == null;
+    }
+
+    /* returns the phases that failed, still in order */
+    private Map<String, Runnable> runAll(Map<String, Runnable> toRun) {
+        Map<String, Runnable> failedPhases = new LinkedHashMap<>();
+        for (Map.Entry<String, Runnable> phase : toRun.entrySet()) {
+            if (!run(phase.getKey(), phase.getValue())) failedPhases.put(phase.getKey(), phase.getValue());
+        }
+        return failedPhases;
+    }
+
+    private void retry(Map<String, Runnable> failedPhases) {
+        Thread retrier = new Thread(() -> {
+            long deadline = createdAt + TimeUnit.MILLISECONDS.toNanos(deadlineMillis);
+            long backoff = firstRetryMillis;
+            Map<String, Runnable> remaining = failedPhases;
+            while (!remaining.isEmpty()) {
+                /* no point sleeping past the deadline just to try once more */
+                if (System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backoff) > deadline) {
+                    giveUp(remaining.keySet() + " still failing after " + deadlineMillis + "ms");
+                    return;
+                }
+
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    giveUp("interrupted while retrying " + remaining.keySet());
+                    return;
+                }
+
+                remaining = runAll(remaining);
+                backoff = Math.min(backoff * 2, maxRetryMillis);
+            }
+
+            ready = true;
+            logger.info("Ready for traffic after " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - createdAt) + "ms");
+        }, "startup-retry");
+        retrier.setDaemon(true);
+        retrier.start();
+    }
+
+    private void giveUp(String reason) {
+        gaveUp = true;
+        logger.error("Giving up on startup, " + reason + ", /health/live now answers 503");
+    }
+}
@@ -0,0 +1,243 @@
+package com.revature.yolp.utils;
+
+import com.revature.yolp.daos.UserDAO;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.locks.StampedLock;
+
+/*
+ * purpose of UsernameDirectory is to answer "is this username taken, and by which user id" from memory for tens of millions of users
+ *
+ * a HashMap<String, UUID> costs 100+ bytes of headers and pointers per entry, all of it scanned by the gc. here every entry is
+ * 24 bytes of slot plus its utf-8 bytes, kept in direct ByteBuffers outside the heap: the gc sees a few dozen objects in total.
+ *
+ * the directory is split into shards (by the high bits of the hash), each an open addressing table with linear probing:
+ *     table slot (24 bytes): int key offset + 1 (0 = empty) | int hash | long id msb | long id lsb
+ *     key arena:             short length | utf-8 bytes, appended
+ * a shard doubles its table at 75% load and its arena when full, under its write lock. readers don't lock: they read under a
+ * StampedLock optimistic stamp and only retry with the read lock if a writer got in between.
+ * entries are never removed, users are not deleted.
+ */
+public class UsernameDirectory {
+    private static final int SLOT_SIZE = 24;
+    private static final int MIN_SLOTS = 16;
+    private static final int MAX_KEY_BYTES = Short.MAX_VALUE;
+
+    private final Shard[] shards;
+    private final int shardShift;
+
+    public UsernameDirectory(int expectedEntries) {
+        this(expectedEntries, 16);
+    }
+
+    public UsernameDirectory(int expectedEntries, int shardCount) {
+        if (shardCount < 1 || Integer.bitCount(shardCount) != 1) throw new IllegalArgumentException("Shard count needs to be a power of two: " + shardCount);
+        this.shards = new Shard[shardCount];
+        this.shardShift = 32 - Integer.numberOfTrailingZeros(shardCount);
+
+        int perShard = (int) Math.min(1 << 26, (long) expectedEntries / shardCount * 4 / 3 + 1);
+        int slots = Math.max(MIN_SLOTS, Integer.highestOneBit(perShard - 1) << 1);
+        for (int i = 0; i < shardCount; i++) shards[i] = new Shard(slots);
+    }
+
+    /* streams every user out of the db, see UserDAO.forEachUsernameAndId */
+    public void loadFrom(UserDAO userDAO) {
+        userDAO.forEachUsernameAndId((username, id) -> put(username, UUID.fromString(id)));
+    }
+
+    /* returns false (and keeps the existing id) if the username is already taken */
+    public boolean put(String username, UUID id) {
+        byte[] key = username.getBytes(StandardCharsets.UTF_8);
+        if (key.length > MAX_KEY_BYTES) throw new IllegalArgumentException("Username too long");
+        int hash = hash(key);
+        return shardFor(hash).put(key, hash, id.getMostSignificantBits(), id.getLeastSignificantBits());
+    }
+
+    public UUID get(String username) {
+        byte[] key = username.getBytes(StandardCharsets.UTF_8);
+        int hash = hash(key);
+        return shardFor(hash).get(key, hash);
+    }
+
+    public boolean contains(String username) {
+        return get(username) != null;
+    }
+
+    public long size() {
+        long size = 0;
+        for (Shard shard : shards) size += shard.size();
+        return size;
+    }
+
+    /* table and arena bytes held outside the heap */
+    public long offHeapBytes() {
+        long bytes = 0;
+        for (Shard shard : shards) bytes += shard.capacityBytes();
+        return bytes;
+    }
+
+    private Shard shardFor(int hash) {
+        return shards.length == 1 ? shards[0] : shards[hash >>> shardShift];
+    }
+
+    /* fnv-1a over the bytes, finished with murmur3's fmix32 so both the high (shard) and low (slot) bits are well mixed */
+    static int hash(byte[] key) {
+        int h = 0x811C9DC5;
+        for (byte b : key) h = (h ^ (b & 0xff)) * 0x01000193;
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    private static class Shard {
+        private final StampedLock lock = new StampedLock();
+
+        /* replaced (not modified in place) when they grow, guarded by lock */
+        private ByteBuffer table;
+        private ByteBuffer arena;
+        private int mask;
+        private int arenaUsed;
+        private int size;
+
+        private Shard(int slots) {
+            this.table = allocate((long) slots * SLOT_SIZE);
+            this.mask = slots - 1;
+            this.arena = allocate(Math.max(1024, slots * 16L));
+        }
+
+        private UUID get(byte[] key, int hash) {
+            long stamp = lock.tryOptimisticRead();
+            if (stamp != 0) {
+                try {
+                    ByteBuffer table = this.table;
+                    ByteBuffer arena = this.arena;
+                    int slot = find(table, arena, mask, key, hash);
+                    long msb = slot < 0 ? 0 : table.getLong(slot + 8);
+                    long lsb = slot < 0 ? 0 : table.getLong(slot + 16);
+                    if (lock.validate(stamp)) return slot < 0 ? null : new UUID(msb, lsb);
+                } catch (IndexOutOfBoundsException ignored) {
+                    /* saw a table and a mask from different generations, retry under the lock */
+                }
+            }
+
+            stamp = lock.readLock();
+            try {
+                int slot = find(table, arena, mask, key, hash);
+                return slot < 0 ? null : new UUID(table.getLong(slot + 8), table.getLong(slot + 16));
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        private boolean put(byte[] key, int hash, long msb, long lsb) {
+            long stamp = lock.writeLock();
+            try {
+                if (find(table, arena, mask, key, hash) >= 0) return false;
+                if ((size + 1) * 4L > (mask + 1) * 3L) growTable();
+
+                int keyRef = append(key);
+                int slot = emptySlot(table, mask, hash);
+                table.putInt(slot + 4, hash);
+                table.putLong(slot + 8, msb);
+                table.putLong(slot + 16, lsb);
+                table.putInt(slot, keyRef + 1);
+                size++;
+                return true;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        /* byte offset of the slot holding key, or -1 */
+        private static int find(ByteBuffer table, ByteBuffer arena, int mask, byte[] key, int hash) {
+            for (int i = hash & mask, probes = 0; probes <= mask; i = (i + 1) & mask, probes++) {
+                int slot = i * SLOT_SIZE;
+                int keyRef = table.getInt(slot);
+                if (keyRef == 0) return -1;
+                if (table.getInt(slot + 4) == hash && keyEquals(arena, keyRef - 1, key)) return slot;
+            }
+            return -1;
+        }
+
+        private static int emptySlot(ByteBuffer table, int mask, int hash) {
+            int i = hash & mask;
+            while (table.getInt(i * SLOT_SIZE) != 0) i = (i + 1) & mask;
+            return i * SLOT_SIZE;
+        }
+
+        private static boolean keyEquals(ByteBuffer arena, int offset, byte[] key) {
+            if (arena.getShort(offset) != key.length) return false;
+            for (int i = 0; i < key.length; i++) {
+                if (arena.get(offset + 2 + i) != key[i]) return false;
+            }
+            return true;
+        }
+
+        private int append(byte[] key) {
+            int needed = 2 + key.length;
+            if (arenaUsed + (long) needed > arena.capacity()) {
+                long grown = Math.max((long) arena.capacity() * 2, (long) arenaUsed + needed);
+                if (grown > Integer.MAX_VALUE) throw new IllegalStateException("Username directory shard is full, use more shards");
+                ByteBuffer bigger = allocate(grown);
+                for (int i = 0; i < arenaUsed; i++) bigger.put(i, arena.get(i));
+                arena = bigger;
+            }
+
+            int offset = arenaUsed;
+            arena.putShort(offset, (short) key.length);
+            for (int i = 0; i < key.length; i++) arena.put(offset + 2 + i, key[i]);
+            arenaUsed += needed;
+            return offset;
+        }
+
+        /* rehashes into a table twice the size, readers that raced with this retry under the read lock */
+        private void growTable() {
+            long slots = (mask + 1L) * 2;
+            if (slots * SLOT_SIZE > Integer.MAX_VALUE) throw new IllegalStateException("Username directory shard is full, use more shards");
+            ByteBuffer bigger = allocate(slots * SLOT_SIZE);
+            int biggerMask = (int) slots - 1;
+
+            for (int i = 0; i <= mask; i++) {
+                int slot = i * SLOT_SIZE;
+                int keyRef = table.getInt(slot);
+                if (keyRef == 0) continue;
+                int target = emptySlot(bigger, biggerMask, table.getInt(slot + 4));
+                bigger.putInt(target + 4, table.getInt(slot + 4));
+                bigger.putLong(target + 8, table.getLong(slot + 8));
+                bigger.putLong(target + 16, table.getLong(slot + 16));
+                bigger.putInt(target, keyRef);
+            }
+
+            table = bigger;
+            mask = biggerMask;
+        }
+
+        private long size() {
+            long stamp = lock.readLock();
+            try {
+                return size;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        private long capacityBytes() {
+            long stamp = lock.readLock();
+            try {
+                return (long) table.capacity() + arena.capacity();
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        private static ByteBuffer allocate(long bytes) {
+            return ByteBuffer.allocateDirect((int) bytes).order(ByteOrder.nativeOrder());
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.revature.yolp.utils;
+
+import com.revature.yolp.dtos.requests.NewLoginRequest;
+import com.revature.yolp.dtos.requests.NewReimbursementRequest;
+import com.revature.yolp.dtos.requests.NewUserRequest;
+import com.revature.yolp.dtos.responses.Principal;
+import com.revature.yolp.dtos.responses.ReimbursementPage;
+import com.revature.yolp.models.Reimbursement;
+import com.revature.yolp.models.ReimbursementStatus;
+import com.revature.yolp.models.ReimbursementType;
+import com.revature.yolp.models.Role;
+import com.revature.yolp.services.TokenService;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.Collections;
+import java.util.UUID;
+
+/*
+ * purpose of WarmUp is to run the hot request paths before real traffic does
+ *
+ * the first calls load and initialize classes (jjwt, jackson serializers per type), and the jit only compiles a method
+ * after ~10k invocations, so a few thousand rounds here save the first users from interpreted code.
+ * nothing here touches the db.
+ */
+public class WarmUp {
+    public static final int DEFAULT_ROUNDS = 2000;
+
+    private WarmUp() {
+    }
+
+    /* sign and verify like every authenticated request does */
+    public static void tokens(TokenService tokenService, int rounds) {
+        Principal principal = new Principal(UUID.randomUUID().toString(), "warmup01", Role.DEFAULT);
+        for (int i = 0; i < rounds; i++) {
+            Principal verified = tokenService.extractRequesterDetails(tokenService.generateToken(principal));
+            if (verified == null || !principal.getId().equals(verified.getId()))
+                throw new IllegalStateException("Token round trip failed, check the signing key");
+        }
+    }
+
+    /* bind every request body and write every response body the handlers use, in every format the codec speaks */
+    public static void bodies(BodyCodec codec, int rounds) {
+        Reimbursement reimbursement = new Reimbursement(UUID.randomUUID().toString(), new BigDecimal("42.50"), new Timestamp(System.currentTimeMillis()), null,
+                "warm up", UUID.randomUUID().toString(), null, ReimbursementStatus.PENDING, ReimbursementType.FOOD, 0);
+        Object[] samples = {
+                new NewUserRequest("warmup01", "passw0rd", "passw0rd"),
+                new NewLoginRequest("warmup01", "passw0rd"),
+                new NewReimbursementRequest(new BigDecimal("42.50"), "warm up", "FOOD"),
+                new Principal(UUID.randomUUID().toString(), "warmup01", Role.DEFAULT),
+                reimbursement,
+                new ReimbursementPage(Collections.singletonList(reimbursement), null)
+        };
+
+        try {
+            for (int i = 0; i < rounds; i++) {
+                for (BodyCodec.Format format : BodyCodec.Format.values()) {
+                    for (Object sample : samples) codec.reader(format, sample.getClass()).readValue(codec.write(format, sample));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.revature.yolp.utils.audit;
+
+/* what an audit record is about, the codes are written to disk and must never change */
+public enum AuditAction {
+    REIMBURSEMENT_SUBMITTED((byte) 1),
+    REIMBURSEMENT_RESOLVED((byte) 2),
+    /* reserved for the admin deactivation endpoint */
+    USER_DEACTIVATED((byte) 3);
+
+    private static final AuditAction[] byCode = new AuditAction[128];
+
+    static {
+        for (AuditAction action : values()) byCode[action.code] = action;
+    }
+
+    private final byte code;
+
+    AuditAction(byte code) {
+        this.code = code;
+    }
+
+    public byte getCode() {
+        return code;
+    }
+
+    public static AuditAction fromCode(byte code) {
+        return code > 0 ? byCode[code] : null;
+    }
+}
@@ -0,0 +1,61 @@
+package com.revature.yolp.utils.audit;
+
+import com.revature.yolp.models.ReimbursementStatus;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/* one decoded audit record, only created by AuditJournalReader */
+public class AuditEntry {
+    private final long sequence;
+    private final long timestamp;
+    private final AuditAction action;
+    private final UUID actorId;
+    private final UUID targetId;
+    private final ReimbursementStatus fromStatus;
+    private final ReimbursementStatus toStatus;
+
+    public AuditEntry(long sequence, long timestamp, AuditAction action, UUID actorId, UUID targetId, ReimbursementStatus fromStatus, ReimbursementStatus toStatus) {
+        this.sequence = sequence;
+        this.timestamp = timestamp;
+        this.action = action;
+        this.actorId = actorId;
+        this.targetId = targetId;
+        this.fromStatus = fromStatus;
+        this.toStatus = toStatus;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public AuditAction getAction() {
+        return action;
+    }
+
+    public UUID getActorId() {
+        return actorId;
+    }
+
+    public UUID getTargetId() {
+        return targetId;
+    }
+
+    public ReimbursementStatus getFromStatus() {
+        return fromStatus;
+    }
+
+    public ReimbursementStatus getToStatus() {
+        return toStatus;
+    }
+
+    @Override
+    public String toString() {
+        return sequence + " " + Instant.ofEpochMilli(timestamp) + " " + action + " actor=" + actorId + " target=" + targetId +
+                (fromStatus != null || toStatus != null ? " " + fromStatus + "->" + toStatus : "");
+    }
+}
@@ -0,0 +1,218 @@
+package com.revature.yolp.utils.audit;
+
+import com.revature.yolp.models.ReimbursementStatus;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * purpose of AuditJournal is to keep an append-only binary trail of status transitions and admin actions
+ *
+ * records are fixed size and written into memory-mapped segment files, so an append is a handful of stores into the page cache:
+ * no syscall, no db round trip and no allocation (ids are parsed from their uuid strings in place).
+ * a background thread msyncs the current segment every flushIntervalMillis; when a segment is full the next one is created.
+ *
+ * segment file: audit-<first sequence, 20 digits>.seg
+ *     header (64 bytes): magic, format version, record size, first sequence
+ *     records (64 bytes each):
+ *         0 sequence | 8 timestamp | 16 action, from status, to status | 24 actor uuid | 40 target uuid | 56 checksum
+ *     the checksum is written last, a record with a zero or wrong checksum marks the end of the journal
+ */
+public class AuditJournal implements Closeable {
+    static final long MAGIC = 0x594F4C5041554431L; // "YOLPAUD1"
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_SIZE = 64;
+    static final int RECORD_SIZE = 64;
+
+    private final Path dir;
+    private final int segmentSize;
+    private final ScheduledExecutorService flusher;
+
+    /* guarded by this */
+    private MappedByteBuffer segment;
+    private int position;
+    private long nextSequence;
+
+    private volatile long lastFlushedSequence;
+
+    public AuditJournal(Path dir, int segmentSize, long flushIntervalMillis) {
+        if (segmentSize < HEADER_SIZE + RECORD_SIZE) throw new IllegalArgumentException("Segment size too small: " + segmentSize);
+        this.dir = dir;
+        this.segmentSize = HEADER_SIZE + (segmentSize - HEADER_SIZE) / RECORD_SIZE * RECORD_SIZE;
+
+        try {
+            Files.createDirectories(dir);
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open audit journal in " + dir, e);
+        }
+
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "audit-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /* ids are canonical uuid strings (or null), statuses may be null */
+    public void append(AuditAction action, String actorId, String targetId, ReimbursementStatus fromStatus, ReimbursementStatus toStatus) {
+        long actorMsb = msb(actorId);
+        long actorLsb = lsb(actorId);
+        long targetMsb = msb(targetId);
+        long targetLsb = lsb(targetId);
+        byte from = fromStatus == null ? 0 : (byte) (fromStatus.ordinal() + 1);
+        byte to = toStatus == null ? 0 : (byte) (toStatus.ordinal() + 1);
+        long timestamp = System.currentTimeMillis();
+
+        synchronized (this) {
+            if (position + RECORD_SIZE > segmentSize) rotate();
+
+            long sequence = nextSequence++;
+            MappedByteBuffer buffer = segment;
+            int at = position;
+            buffer.putLong(at, sequence);
+            buffer.putLong(at + 8, timestamp);
+            buffer.put(at + 16, action.getCode());
+            buffer.put(at + 17, from);
+            buffer.put(at + 18, to);
+            buffer.putLong(at + 24, actorMsb);
+            buffer.putLong(at + 32, actorLsb);
+            buffer.putLong(at + 40, targetMsb);
+            buffer.putLong(at + 48, targetLsb);
+            buffer.putLong(at + 56, checksum(sequence, timestamp, action.getCode(), from, to, actorMsb, actorLsb, targetMsb, targetLsb));
+            position = at + RECORD_SIZE;
+        }
+    }
+
+    /* forces everything appended so far to disk */
+    public void flush() {
+        MappedByteBuffer current;
+        long sequence;
+        synchronized (this) {
+            current = segment;
+            sequence = nextSequence - 1;
+        }
+        if (sequence == lastFlushedSequence) return;
+        current.force();
+        lastFlushedSequence = sequence;
+    }
+
+    @Override
+    public void close() {
+        flusher.shutdownNow();
+        flush();
+    }
+
+    public Path getDir() {
+        return dir;
+    }
+
+    static long checksum(long sequence, long timestamp, byte action, byte from, byte to, long actorMsb, long actorLsb, long targetMsb, long targetLsb) {
+        long h = 0x9E3779B97F4A7C15L;
+        h = mix(h, sequence);
+        h = mix(h, timestamp);
+        h = mix(h, (action & 0xff) | (from & 0xff) << 8 | (to & 0xff) << 16);
+        h = mix(h, actorMsb);
+        h = mix(h, actorLsb);
+        h = mix(h, targetMsb);
+        h = mix(h, targetLsb);
+        return h == 0 ? 1 : h;
+    }
+
+    private static long mix(long h, long value) {
+        h ^= value;
+        h *= 0xBF58476D1CE4E5B9L;
+        return h ^ (h >>> 31);
+    }
+
+    /* the current segment is full: make it durable and start the next one */
+    private void rotate() {
+        segment.force();
+        try {
+            openSegment(nextSequence);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not rotate audit journal in " + dir, e);
+        }
+    }
+
+    private void openSegment(long firstSequence) throws IOException {
+        Path file = dir.resolve(segmentName(firstSequence));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+        segment.putLong(0, MAGIC);
+        segment.putInt(8, FORMAT_VERSION);
+        segment.putInt(12, RECORD_SIZE);
+        segment.putLong(16, firstSequence);
+        position = HEADER_SIZE;
+    }
+
+    /* reopens the newest segment and continues after its last complete record */
+    private void recover() throws IOException {
+        List<Path> segments = AuditJournalReader.listSegments(dir);
+        if (segments.isEmpty()) {
+            nextSequence = 1;
+            openSegment(1);
+            return;
+        }
+
+        Path newest = segments.get(segments.size() - 1);
+        try (FileChannel channel = FileChannel.open(newest, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            int size = (int) channel.size();
+            if (size != segmentSize) throw new IOException("Segment " + newest + " is " + size + " bytes, expected " + segmentSize);
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+        if (segment.getLong(0) != MAGIC) throw new IOException("Not an audit segment: " + newest);
+
+        nextSequence = segment.getLong(16);
+        position = HEADER_SIZE;
+        while (position + RECORD_SIZE <= segmentSize && AuditJournalReader.isComplete(segment, position)) {
+            nextSequence = segment.getLong(position) + 1;
+            position += RECORD_SIZE;
+        }
+        lastFlushedSequence = nextSequence - 1;
+    }
+
+    static String segmentName(long firstSequence) {
+        return String.format("audit-%020d.seg", firstSequence);
+    }
+
+    /* canonical uuid "xxxxxxxx-xxxx-xxxx-xxxx-xxxxxxxxxxxx" parsed without creating a UUID */
+    static long msb(String id) {
+        if (id == null) return 0;
+        checkUuid(id);
+        return hex(id, 0, 8) << 32 | hex(id, 9, 13) << 16 | hex(id, 14, 18);
+    }
+
+    static long lsb(String id) {
+        if (id == null) return 0;
+        checkUuid(id);
+        return hex(id, 19, 23) << 48 | hex(id, 24, 36);
+    }
+
+    private static void checkUuid(String id) {
+        if (id.length() != 36 || id.charAt(8) != '-' || id.charAt(13) != '-' || id.charAt(18) != '-' || id.charAt(23) != '-')
+            throw new IllegalArgumentException("Not a uuid: " + id);
+    }
+
+    private static long hex(String s, int from, int to) {
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            int digit = Character.digit(s.charAt(i), 16);
+            if (digit < 0) throw new IllegalArgumentException("Not a uuid: " + s);
+            value = value << 4 | digit;
+        }
+        return value;
+    }
+}
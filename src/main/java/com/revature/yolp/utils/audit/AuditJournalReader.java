@@ -0,0 +1,88 @@
+package com.revature.yolp.utils.audit;
+
+import com.revature.yolp.models.ReimbursementStatus;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/* purpose of AuditJournalReader is to replay the records of an AuditJournal directory in sequence order */
+public class AuditJournalReader {
+    private static final ReimbursementStatus[] statuses = ReimbursementStatus.values();
+
+    private final Path dir;
+
+    public AuditJournalReader(Path dir) {
+        this.dir = dir;
+    }
+
+    /* hands every complete record that matches the filter to the consumer, oldest first */
+    public void replay(Predicate<AuditEntry> filter, Consumer<AuditEntry> consumer) throws IOException {
+        for (Path file : listSegments(dir)) {
+            MappedByteBuffer segment;
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+            if (segment.limit() < AuditJournal.HEADER_SIZE || segment.getLong(0) != AuditJournal.MAGIC)
+                throw new IOException("Not an audit segment: " + file);
+            int recordSize = segment.getInt(12);
+
+            for (int at = AuditJournal.HEADER_SIZE; at + recordSize <= segment.limit() && isComplete(segment, at); at += recordSize) {
+                AuditEntry entry = decode(segment, at);
+                if (filter.test(entry)) consumer.accept(entry);
+            }
+        }
+    }
+
+    public List<AuditEntry> readAll(Predicate<AuditEntry> filter) throws IOException {
+        List<AuditEntry> entries = new ArrayList<>();
+        replay(filter, entries::add);
+        return entries;
+    }
+
+    static boolean isComplete(MappedByteBuffer segment, int at) {
+        long checksum = segment.getLong(at + 56);
+        return checksum != 0 && checksum == AuditJournal.checksum(segment.getLong(at), segment.getLong(at + 8), segment.get(at + 16), segment.get(at + 17), segment.get(at + 18),
+                segment.getLong(at + 24), segment.getLong(at + 32), segment.getLong(at + 40), segment.getLong(at + 48));
+    }
+
+    private static AuditEntry decode(MappedByteBuffer segment, int at) {
+        return new AuditEntry(
+                segment.getLong(at),
+                segment.getLong(at + 8),
+                AuditAction.fromCode(segment.get(at + 16)),
+                uuid(segment.getLong(at + 24), segment.getLong(at + 32)),
+                uuid(segment.getLong(at + 40), segment.getLong(at + 48)),
+                status(segment.get(at + 17)),
+                status(segment.get(at + 18)));
+    }
+
+    private static UUID uuid(long msb, long lsb) {
+        return msb == 0 && lsb == 0 ? null : new UUID(msb, lsb);
+    }
+
+    private static ReimbursementStatus status(byte code) {
+        return code == 0 ? null : statuses[code - 1];
+    }
+
+    /* segment names sort by their zero padded first sequence */
+    static List<Path> listSegments(Path dir) throws IOException {
+        List<Path> segments = new ArrayList<>();
+        if (!Files.isDirectory(dir)) return segments;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "audit-*.seg")) {
+            for (Path file : files) segments.add(file);
+        }
+        Collections.sort(segments);
+        return segments;
+    }
+}
@@ -0,0 +1,55 @@
+package com.revature.yolp.utils.audit;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+/*
+    prints the audit journal, optionally filtered
+        java -cp <classpath> com.revature.yolp.utils.audit.AuditLogCli <journal dir> [--action=REIMBURSEMENT_RESOLVED] [--actor=<uuid>] [--target=<uuid>]
+            [--from=2022-11-01T00:00:00Z] [--to=2022-12-01T00:00:00Z]
+ */
+public class AuditLogCli {
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("usage: AuditLogCli <journal dir> [--action=ACTION] [--actor=UUID] [--target=UUID] [--from=INSTANT] [--to=INSTANT]");
+            System.exit(2);
+        }
+
+        Predicate<AuditEntry> filter = e -> true;
+        for (int i = 1; i < args.length; i++) {
+            String[] option = args[i].split("=", 2);
+            if (option.length != 2) throw new IllegalArgumentException("Unknown option " + args[i]);
+            String value = option[1];
+
+            switch (option[0]) {
+                case "--action":
+                    AuditAction action = AuditAction.valueOf(value.toUpperCase());
+                    filter = filter.and(e -> e.getAction() == action);
+                    break;
+                case "--actor":
+                    UUID actor = UUID.fromString(value);
+                    filter = filter.and(e -> actor.equals(e.getActorId()));
+                    break;
+                case "--target":
+                    UUID target = UUID.fromString(value);
+                    filter = filter.and(e -> target.equals(e.getTargetId()));
+                    break;
+                case "--from":
+                    long from = Instant.parse(value).toEpochMilli();
+                    filter = filter.and(e -> e.getTimestamp() >= from);
+                    break;
+                case "--to":
+                    long to = Instant.parse(value).toEpochMilli();
+                    filter = filter.and(e -> e.getTimestamp() < to);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+
+        new AuditJournalReader(Paths.get(args[0])).replay(filter, System.out::println);
+    }
+}
@@ -0,0 +1,23 @@
+package com.revature.yolp.utils.custom_exceptions;
+
+/* a query failed, for callers that can't treat that as "no rows" */
+public class DataAccessException extends RuntimeException {
+    public DataAccessException() {
+    }
+
+    public DataAccessException(String message) {
+        super(message);
+    }
+
+    public DataAccessException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public DataAccessException(Throwable cause) {
+        super(cause);
+    }
+
+    public DataAccessException(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
+        super(message, cause, enableSuppression, writableStackTrace);
+    }
+}
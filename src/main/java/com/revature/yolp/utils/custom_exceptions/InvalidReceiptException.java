@@ -0,0 +1,22 @@
+package com.revature.yolp.utils.custom_exceptions;
+
+public class InvalidReceiptException extends RuntimeException {
+    public InvalidReceiptException() {
+    }
+
+    public InvalidReceiptException(String message) {
+        super(message);
+    }
+
+    public InvalidReceiptException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public InvalidReceiptException(Throwable cause) {
+        super(cause);
+    }
+
+    public InvalidReceiptException(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
+        super(message, cause, enableSuppression, writableStackTrace);
+    }
+}
@@ -0,0 +1,22 @@
+package com.revature.yolp.utils.custom_exceptions;
+
+public class InvalidReimbursementException extends RuntimeException {
+    public InvalidReimbursementException() {
+    }
+
+    public InvalidReimbursementException(String message) {
+        super(message);
+    }
+
+    public InvalidReimbursementException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public InvalidReimbursementException(Throwable cause) {
+        super(cause);
+    }
+
+    public InvalidReimbursementException(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
+        super(message, cause, enableSuppression, writableStackTrace);
+    }
+}
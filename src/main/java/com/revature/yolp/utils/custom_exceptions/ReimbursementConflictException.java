@@ -0,0 +1,22 @@
+package com.revature.yolp.utils.custom_exceptions;
+
+public class ReimbursementConflictException extends RuntimeException {
+    public ReimbursementConflictException() {
+    }
+
+    public ReimbursementConflictException(String message) {
+        super(message);
+    }
+
+    public ReimbursementConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public ReimbursementConflictException(Throwable cause) {
+        super(cause);
+    }
+
+    public ReimbursementConflictException(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
+        super(message, cause, enableSuppression, writableStackTrace);
+    }
+}
@@ -0,0 +1,165 @@
+package com.revature.yolp.utils.logging;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.event.Level;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/*
+ * purpose of AsyncLogWriter is to take log output off the request threads
+ *
+ * request threads only format the message and put it into a RingBuffer, one background thread drains it into the
+ * underlying slf4j loggers (slf4j-simple writing to stderr). when the buffer is full the OverflowPolicy decides
+ * whether the request thread drops the line or waits.
+ *     -Dyolp.log.buffer=8192     buffer capacity, power of two
+ *     -Dyolp.log.overflow=DROP   DROP or BLOCK
+ */
+public class AsyncLogWriter {
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long SHUTDOWN_WAIT_MILLIS = 5000;
+
+    private static volatile AsyncLogWriter instance;
+
+    private final RingBuffer<LogEvent> buffer;
+    private final OverflowPolicy policy;
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread writer;
+    private final Logger self = LoggerFactory.getLogger(AsyncLogWriter.class);
+
+    private volatile boolean running = true;
+    private volatile boolean idle;
+
+    public AsyncLogWriter(int capacity, OverflowPolicy policy) {
+        this.buffer = new RingBuffer<>(capacity);
+        this.policy = policy;
+        this.writer = new Thread(this::drain, "yolp-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    public static AsyncLogWriter getInstance() {
+        AsyncLogWriter writer = instance;
+        if (writer == null) {
+            synchronized (AsyncLogWriter.class) {
+                writer = instance;
+                if (writer == null) {
+                    writer = new AsyncLogWriter(Integer.getInteger("yolp.log.buffer", 8192),
+                            OverflowPolicy.valueOf(System.getProperty("yolp.log.overflow", "DROP").toUpperCase()));
+                    Runtime.getRuntime().addShutdownHook(new Thread(writer::shutdown, "yolp-log-shutdown"));
+                    instance = writer;
+                }
+            }
+        }
+        return writer;
+    }
+
+    /* returns false if the event was dropped */
+    public boolean publish(LogEvent event) {
+        if (!running) {
+            event.writeTo();
+            return true;
+        }
+
+        while (!buffer.offer(event)) {
+            if (policy == OverflowPolicy.DROP || !running) {
+                dropped.incrementAndGet();
+                return false;
+            }
+            LockSupport.parkNanos(FULL_PARK_NANOS);
+        }
+
+        if (idle) LockSupport.unpark(writer);
+        return true;
+    }
+
+    /* stops accepting events into the buffer and writes out what is left */
+    public void shutdown() {
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(SHUTDOWN_WAIT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public int getBacklog() {
+        return buffer.size();
+    }
+
+    private void drain() {
+        long reportedDrops = 0;
+        while (true) {
+            LogEvent event = buffer.poll();
+            if (event != null) {
+                event.writeTo();
+                continue;
+            }
+
+            /* caught up, a good moment to mention what had to be thrown away */
+            long drops = dropped.get();
+            if (drops != reportedDrops) {
+                self.warn("Log buffer was full, dropped " + (drops - reportedDrops) + " log events");
+                reportedDrops = drops;
+            }
+
+            if (!running) {
+                /* producers that saw running == true may still be finishing an offer */
+                if ((event = buffer.poll()) == null) return;
+                event.writeTo();
+                continue;
+            }
+
+            idle = true;
+            if ((event = buffer.poll()) == null) LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            idle = false;
+            if (event != null) event.writeTo();
+        }
+    }
+
+    /* one formatted log line on its way to the writer thread */
+    public static class LogEvent {
+        private final Logger target;
+        private final Level level;
+        private final String message;
+        private final Throwable throwable;
+
+        public LogEvent(Logger target, Level level, String threadName, String correlationId, String message, Throwable throwable) {
+            this.target = target;
+            this.level = level;
+            this.message = correlationId == null ? "[" + threadName + "] " + message : "[" + threadName + "] [" + correlationId + "] " + message;
+            this.throwable = throwable;
+        }
+
+        void writeTo() {
+            switch (level) {
+                case ERROR:
+                    target.error(message, throwable);
+                    break;
+                case WARN:
+                    target.warn(message, throwable);
+                    break;
+                case INFO:
+                    target.info(message, throwable);
+                    break;
+                case DEBUG:
+                    target.debug(message, throwable);
+                    break;
+                default:
+                    target.trace(message, throwable);
+            }
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.revature.yolp.utils.logging;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.event.Level;
+import org.slf4j.helpers.FormattingTuple;
+import org.slf4j.helpers.MarkerIgnoringBase;
+import org.slf4j.helpers.MessageFormatter;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/*
+ * purpose of AsyncLogger is to be a drop-in slf4j Logger that hands its lines to the AsyncLogWriter
+ *     private static final Logger logger = AsyncLogger.getLogger(UserHandler.class);
+ * level checks and message formatting happen on the calling thread (arguments may change after the call returns),
+ * the write itself happens on the writer thread. each line carries the calling thread and its CorrelationId.
+ */
+public class AsyncLogger extends MarkerIgnoringBase {
+    private static final ConcurrentMap<String, AsyncLogger> loggers = new ConcurrentHashMap<>();
+
+    private final Logger delegate;
+    private final AsyncLogWriter writer;
+
+    AsyncLogger(Logger delegate, AsyncLogWriter writer) {
+        this.delegate = delegate;
+        this.writer = writer;
+        this.name = delegate.getName();
+    }
+
+    public static Logger getLogger(Class<?> clazz) {
+        return loggers.computeIfAbsent(clazz.getName(), name -> new AsyncLogger(LoggerFactory.getLogger(name), AsyncLogWriter.getInstance()));
+    }
+
+    @Override
+    public boolean isTraceEnabled() {
+        return delegate.isTraceEnabled();
+    }
+
+    @Override
+    public void trace(String msg) {
+        if (delegate.isTraceEnabled()) log(Level.TRACE, msg, null);
+    }
+
+    @Override
+    public void trace(String format, Object arg) {
+        if (delegate.isTraceEnabled()) log(Level.TRACE, MessageFormatter.format(format, arg));
+    }
+
+    @Override
+    public void trace(String format, Object arg1, Object arg2) {
+        if (delegate.isTraceEnabled()) log(Level.TRACE, MessageFormatter.format(format, arg1, arg2));
+    }
+
+    @Override
+    public void trace(String format, Object... arguments) {
+        if (delegate.isTraceEnabled()) log(Level.TRACE, MessageFormatter.arrayFormat(format, arguments));
+    }
+
+    @Override
+    public void trace(String msg, Throwable t) {
+        if (delegate.isTraceEnabled()) log(Level.TRACE, msg, t);
+    }
+
+    @Override
+    public boolean isDebugEnabled() {
+        return delegate.isDebugEnabled();
+    }
+
+    @Override
+    public void debug(String msg) {
+        if (delegate.isDebugEnabled()) log(Level.DEBUG, msg, null);
+    }
+
+    @Override
+    public void debug(String format, Object arg) {
+        if (delegate.isDebugEnabled()) log(Level.DEBUG, MessageFormatter.format(format, arg));
+    }
+
+    @Override
+    public void debug(String format, Object arg1, Object arg2) {
+        if (delegate.isDebugEnabled()) log(Level.DEBUG, MessageFormatter.format(format, arg1, arg2));
+    }
+
+    @Override
+    public void debug(String format, Object... arguments) {
+        if (delegate.isDebugEnabled()) log(Level.DEBUG, MessageFormatter.arrayFormat(format, arguments));
+    }
+
+    @Override
+    public void debug(String msg, Throwable t) {
+        if (delegate.isDebugEnabled()) log(Level.DEBUG, msg, t);
+    }
+
+    @Override
+    public boolean isInfoEnabled() {
+        return delegate.isInfoEnabled();
+    }
+
+    @Override
+    public void info(String msg) {
+        if (delegate.isInfoEnabled()) log(Level.INFO, msg, null);
+    }
+
+    @Override
+    public void info(String format, Object arg) {
+        if (delegate.isInfoEnabled()) log(Level.INFO, MessageFormatter.format(format, arg));
+    }
+
+    @Override
+    public void info(String format, Object arg1, Object arg2) {
+        if (delegate.isInfoEnabled()) log(Level.INFO, MessageFormatter.format(format, arg1, arg2));
+    }
+
+    @Override
+    public void info(String format, Object... arguments) {
+        if (delegate.isInfoEnabled()) log(Level.INFO, MessageFormatter.arrayFormat(format, arguments));
+    }
+
+    @Override
+    public void info(String msg, Throwable t) {
+        if (delegate.isInfoEnabled()) log(Level.INFO, msg, t);
+    }
+
+    @Override
+    public boolean isWarnEnabled() {
+        return delegate.isWarnEnabled();
+    }
+
+    @Override
+    public void warn(String msg) {
+        if (delegate.isWarnEnabled()) log(Level.WARN, msg, null);
+    }
+
+    @Override
+    public void warn(String format, Object arg) {
+        if (delegate.isWarnEnabled()) log(Level.WARN, MessageFormatter.format(format, arg));
+    }
+
+    @Override
+    public void warn(String format, Object arg1, Object arg2) {
+        if (delegate.isWarnEnabled()) log(Level.WARN, MessageFormatter.format(format, arg1, arg2));
+    }
+
+    @Override
+    public void warn(String format, Object... arguments) {
+        if (delegate.isWarnEnabled()) log(Level.WARN, MessageFormatter.arrayFormat(format, arguments));
+    }
+
+    @Override
+    public void warn(String msg, Throwable t) {
+        if (delegate.isWarnEnabled()) log(Level.WARN, msg, t);
+    }
+
+    @Override
+    public boolean isErrorEnabled() {
+        return delegate.isErrorEnabled();
+    }
+
+    @Override
+    public void error(String msg) {
+        if (delegate.isErrorEnabled()) log(Level.ERROR, msg, null);
+    }
+
+    @Override
+    public void error(String format, Object arg) {
+        if (delegate.isErrorEnabled()) log(Level.ERROR, MessageFormatter.format(format, arg));
+    }
+
+    @Override
+    public void error(String format, Object arg1, Object arg2) {
+        if (delegate.isErrorEnabled()) log(Level.ERROR, MessageFormatter.format(format, arg1, arg2));
+    }
+
+    @Override
+    public void error(String format, Object... arguments) {
+        if (delegate.isErrorEnabled()) log(Level.ERROR, MessageFormatter.arrayFormat(format, arguments));
+    }
+
+    @Override
+    public void error(String msg, Throwable t) {
+        if (delegate.isErrorEnabled()) log(Level.ERROR, msg, t);
+    }
+
+    private void log(Level level, FormattingTuple tuple) {
+        log(level, tuple.getMessage(), tuple.getThrowable());
+    }
+
+    private void log(Level level, String message, Throwable throwable) {
+        writer.publish(new AsyncLogWriter.LogEvent(delegate, level, Thread.currentThread().getName(), CorrelationId.get(), message, throwable));
+    }
+}
@@ -0,0 +1,37 @@
+package com.revature.yolp.utils.logging;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+/* purpose of CorrelationId is to tie every log line written while serving a request to that request */
+public class CorrelationId {
+    public static final String HEADER = "X-Correlation-Id";
+
+    /* ids passed in by a caller (e.g. a gateway) are kept if they look sane, anything else is replaced */
+    private static final Pattern VALID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+    private static final ThreadLocal<String> current = new ThreadLocal<>();
+
+    private CorrelationId() {
+    }
+
+    public static String begin(String incoming) {
+        String id = incoming != null && VALID.matcher(incoming).matches() ? incoming : generate();
+        current.set(id);
+        return id;
+    }
+
+    public static String get() {
+        return current.get();
+    }
+
+    public static void clear() {
+        current.remove();
+    }
+
+    /* ThreadLocalRandom instead of UUID.randomUUID so request threads don't queue up on the shared SecureRandom */
+    static String generate() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return new UUID(random.nextLong(), random.nextLong()).toString();
+    }
+}
@@ -0,0 +1,9 @@
+package com.revature.yolp.utils.logging;
+
+/* what a request thread does when the log buffer is full */
+public enum OverflowPolicy {
+    /* throw the event away and count it, the writer reports the count once it catches up */
+    DROP,
+    /* wait for the writer to free a slot, never loses a line but slows requests down */
+    BLOCK
+}
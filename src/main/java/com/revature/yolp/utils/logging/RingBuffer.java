@@ -0,0 +1,73 @@
+package com.revature.yolp.utils.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/*
+ * purpose of RingBuffer is to hand items from many producer threads to one consumer without taking a lock
+ *
+ * bounded array queue where every slot carries a sequence number (vyukov style):
+ *     slot sequence == position       -> free, a producer may claim it with a cas on the tail
+ *     slot sequence == position + 1   -> published, the consumer may take it
+ * offer never blocks, it returns false when the buffer is full so the caller can pick its own overflow policy
+ */
+public class RingBuffer<E> {
+    private final int mask;
+    private final AtomicLongArray sequences;
+    private final AtomicReferenceArray<E> items;
+    private final AtomicLong tail = new AtomicLong();
+
+    /* single consumer, only read and written by it */
+    private long head;
+
+    public RingBuffer(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) throw new IllegalArgumentException("Capacity needs to be a power of two: " + capacity);
+        this.mask = capacity - 1;
+        this.sequences = new AtomicLongArray(capacity);
+        this.items = new AtomicReferenceArray<>(capacity);
+        for (int i = 0; i < capacity; i++) sequences.set(i, i);
+    }
+
+    public boolean offer(E item) {
+        long position = tail.get();
+        while (true) {
+            int slot = (int) position & mask;
+            long difference = sequences.get(slot) - position;
+
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    items.lazySet(slot, item);
+                    sequences.lazySet(slot, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false; // consumer has not freed this slot yet
+            } else {
+                position = tail.get(); // another producer took it
+            }
+        }
+    }
+
+    /* only to be called from the consumer thread */
+    public E poll() {
+        int slot = (int) head & mask;
+        if (sequences.get(slot) != head + 1) return null;
+
+        E item = items.get(slot);
+        items.lazySet(slot, null);
+        sequences.lazySet(slot, head + mask + 1);
+        head++;
+        return item;
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /* approximate, for monitoring only */
+    public int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+}
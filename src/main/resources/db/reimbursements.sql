@@ -0,0 +1,63 @@
+-- reimbursement tables and the indexes ReimbursementQueryBuilder relies on
+-- run after the users table and roles type exist
+
+ALTER TYPE roles ADD VALUE IF NOT EXISTS 'FINANCE_MANAGER';
+
+CREATE TYPE reimbursement_status AS ENUM ('PENDING', 'APPROVED', 'DENIED');
+CREATE TYPE reimbursement_type AS ENUM ('LODGING', 'TRAVEL', 'FOOD', 'OTHER');
+
+CREATE TABLE reimbursements (
+    id          VARCHAR(36) PRIMARY KEY,
+    amount      NUMERIC(10, 2) NOT NULL CHECK (amount > 0),
+    submitted   TIMESTAMP NOT NULL,
+    resolved    TIMESTAMP,
+    description VARCHAR(255) NOT NULL,
+    author_id   VARCHAR(36) NOT NULL REFERENCES users (id),
+    resolver_id VARCHAR(36) REFERENCES users (id),
+    status      reimbursement_status NOT NULL DEFAULT 'PENDING',
+    type        reimbursement_type NOT NULL,
+    version     INTEGER NOT NULL DEFAULT 0
+);
+
+-- every history query is scoped by author, resolver or status and ordered by (submitted, id) or (amount, id)
+-- the trailing id makes the keyset (sort value, id) unique and lets both directions use the same index
+CREATE INDEX reimbursements_author_submitted_idx ON reimbursements (author_id, submitted, id);
+CREATE INDEX reimbursements_author_amount_idx ON reimbursements (author_id, amount, id);
+CREATE INDEX reimbursements_resolver_submitted_idx ON reimbursements (resolver_id, submitted, id);
+CREATE INDEX reimbursements_resolver_amount_idx ON reimbursements (resolver_id, amount, id);
+CREATE INDEX reimbursements_status_submitted_idx ON reimbursements (status, submitted, id);
+CREATE INDEX reimbursements_status_amount_idx ON reimbursements (status, amount, id);
+
+-- receipt metadata, the files are stored on disk by sha-256 hash (see ReceiptStore)
+-- several receipts can share one hash, so files are deduplicated
+CREATE TABLE receipts (
+    id               VARCHAR(36) PRIMARY KEY,
+    reimbursement_id VARCHAR(36) NOT NULL UNIQUE REFERENCES reimbursements (id),
+    hash             CHAR(64) NOT NULL,
+    content_type     VARCHAR(64) NOT NULL,
+    size             BIGINT NOT NULL,
+    uploaded         TIMESTAMP NOT NULL
+);
+
+CREATE INDEX receipts_hash_idx ON receipts (hash);
+
+-- approved spend per month (of approval) x type x employee, kept up to date by the statements that approve tickets
+-- (see ReimbursementDAO) so reports never have to GROUP BY the full ticket history
+CREATE TABLE reimbursement_rollups (
+    month          DATE NOT NULL,
+    type           reimbursement_type NOT NULL,
+    author_id      VARCHAR(36) NOT NULL REFERENCES users (id),
+    approved_count INTEGER NOT NULL,
+    approved_total NUMERIC(14, 2) NOT NULL,
+    PRIMARY KEY (month, type, author_id)
+);
+
+CREATE INDEX reimbursement_rollups_author_idx ON reimbursement_rollups (author_id, month);
+
+-- one time backfill for tickets approved before the rollups existed
+INSERT INTO reimbursement_rollups (month, type, author_id, approved_count, approved_total)
+SELECT date_trunc('month', resolved)::date, type, author_id, count(*), sum(amount)
+FROM reimbursements WHERE status = 'APPROVED' GROUP BY 1, 2, 3;
+
+-- lets the csv export walk a date range in order without sorting the whole table
+CREATE INDEX reimbursements_submitted_idx ON reimbursements (submitted, id);
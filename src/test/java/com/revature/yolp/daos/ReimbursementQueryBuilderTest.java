@@ -0,0 +1,243 @@
+package com.revature.yolp.daos;
+
+import com.revature.yolp.dtos.requests.ReimbursementFilter;
+import com.revature.yolp.dtos.requests.ReimbursementVersion;
+import com.revature.yolp.dtos.responses.BulkResolveResult;
+import com.revature.yolp.dtos.responses.ResolveConflict;
+import com.revature.yolp.models.Reimbursement;
+import com.revature.yolp.models.ReimbursementStatus;
+import com.revature.yolp.models.ReimbursementType;
+import com.revature.yolp.utils.custom_exceptions.InvalidReimbursementException;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+public class ReimbursementQueryBuilderTest {
+    private ReimbursementQueryBuilder sut;
+
+    @Before
+    public void init() {
+        sut = new ReimbursementQueryBuilder();
+    }
+
+    @Test
+    public void test_build_givenEmployeeHistoryFilters() {
+        // Arrange
+        ReimbursementFilter filter = new ReimbursementFilter();
+        filter.setAuthorId("author-1");
+        filter.setTypes(Arrays.asList(ReimbursementType.FOOD, ReimbursementType.TRAVEL));
+        filter.setMinAmount(new BigDecimal("10.00"));
+        filter.setSortBy(ReimbursementFilter.SortBy.AMOUNT);
+        filter.setDescending(true);
+        filter.setLimit(10);
+
+        // Act
+        SqlQuery query = sut.build(filter);
+
+        // Assert
+        assertEquals("SELECT " + ReimbursementQueryBuilder.COLUMNS + " FROM reimbursements" +
+                " WHERE author_id = ? AND type IN (?::reimbursement_type, ?::reimbursement_type) AND amount >= ?" +
+                " ORDER BY amount DESC, id DESC LIMIT ?", query.getSql());
+        assertEquals(Arrays.<Object>asList("author-1", "FOOD", "TRAVEL", new BigDecimal("10.00"), 11), query.getParams());
+    }
+
+    @Test
+    public void test_build_givenCursorFromPreviousPage() {
+        // Arrange
+        ReimbursementFilter filter = new ReimbursementFilter();
+        filter.setStatuses(Collections.singletonList(ReimbursementStatus.PENDING));
+        Timestamp submitted = Timestamp.valueOf("2022-11-30 10:15:30.123456");
+        Reimbursement last = new Reimbursement("ticket-9", BigDecimal.TEN, submitted, null, "hotel", "author-1", null, ReimbursementStatus.PENDING, ReimbursementType.LODGING, 0);
+        filter.setCursor(sut.encodeCursor(filter, last));
+
+        // Act
+        SqlQuery query = sut.build(filter);
+
+        // Assert
+        assertTrue(query.getSql().contains("status = ?::reimbursement_status AND (submitted, id) > (?, ?)"));
+        assertEquals(Arrays.<Object>asList("PENDING", submitted, "ticket-9", 26), query.getParams());
+    }
+
+    @Test(expected = InvalidReimbursementException.class)
+    public void test_build_givenCursorForOtherSort() {
+        ReimbursementFilter filter = new ReimbursementFilter();
+        filter.setAuthorId("author-1");
+        filter.setCursor(sut.encodeCursor(filter, new Reimbursement("ticket-9", BigDecimal.TEN, new Timestamp(0), null, "hotel", "author-1", null, ReimbursementStatus.PENDING, ReimbursementType.LODGING, 0)));
+        filter.setSortBy(ReimbursementFilter.SortBy.AMOUNT);
+
+        sut.build(filter);
+    }
+
+    @Test(expected = InvalidReimbursementException.class)
+    public void test_build_givenUnscopedFilter() {
+        sut.build(new ReimbursementFilter());
+    }
+
+    /*
+        Runs EXPLAIN for every supported query shape against a real Postgres and fails if any plan contains a Seq Scan.
+        Sequential scans are disabled for the session, so the planner only picks one when no index can serve the query.
+        Skipped unless a database is given, e.g.
+            mvn test -Dyolp.test.db.url=jdbc:postgresql://localhost:5432/postgres -Dyolp.test.db.username=postgres -Dyolp.test.db.password=postgres
+     */
+    @Test
+    public void test_explain_everyQueryShapeUsesAnIndex() throws Exception {
+        String url = System.getProperty("yolp.test.db.url");
+        Assume.assumeTrue("yolp.test.db.url not set", url != null);
+
+        String schema = "plan_test_" + UUID.randomUUID().toString().replace("-", "");
+        try (Connection con = DriverManager.getConnection(url, System.getProperty("yolp.test.db.username"), System.getProperty("yolp.test.db.password"))) {
+            try (Statement st = con.createStatement()) {
+                createSchema(st, schema);
+                st.execute("INSERT INTO reimbursements SELECT md5(g::text), g % 500 + 1, now() - g * interval '1 hour', NULL, 'ticket', 'author-1', CASE WHEN g % 3 = 0 THEN 'manager-1' END, " +
+                        "(ARRAY['PENDING', 'APPROVED', 'DENIED'])[g % 3 + 1]::reimbursement_status, (ARRAY['LODGING', 'TRAVEL', 'FOOD', 'OTHER'])[g % 4 + 1]::reimbursement_type FROM generate_series(1, 1000) g");
+                st.execute("ANALYZE reimbursements");
+                st.execute("SET enable_seqscan = off");
+            }
+
+            try {
+                for (ReimbursementFilter filter : everyQueryShape()) {
+                    SqlQuery query = sut.build(filter);
+                    StringBuilder plan = new StringBuilder();
+                    try (PreparedStatement ps = query.prepare(con, "EXPLAIN ")) {
+                        ResultSet rs = ps.executeQuery();
+                        while (rs.next()) plan.append(rs.getString(1)).append('\n');
+                    }
+                    assertFalse(query.getSql() + "\n" + plan, plan.toString().contains("Seq Scan"));
+                }
+            } finally {
+                try (Statement st = con.createStatement()) {
+                    st.execute("DROP SCHEMA " + schema + " CASCADE");
+                }
+            }
+        }
+    }
+
+    /*
+        Runs ReimbursementDAO's bulk resolve statements (unnest input, update, rollup cte, conflict lookup) against a real Postgres.
+        Skipped unless a database is given, same properties as the EXPLAIN test above.
+     */
+    @Test
+    public void test_resolveAll_executesAgainstPostgres() throws Exception {
+        String url = System.getProperty("yolp.test.db.url");
+        Assume.assumeTrue("yolp.test.db.url not set", url != null);
+
+        String schema = "resolve_test_" + UUID.randomUUID().toString().replace("-", "");
+        try (Connection con = DriverManager.getConnection(url, System.getProperty("yolp.test.db.username"), System.getProperty("yolp.test.db.password"))) {
+            // Arrange
+            try (Statement st = con.createStatement()) {
+                createSchema(st, schema);
+                st.execute("INSERT INTO reimbursements (id, amount, submitted, description, author_id, status, type, version) VALUES " +
+                        "('ticket-1', 10.00, '2022-11-01', 'hotel', 'author-1', 'PENDING', 'LODGING', 0), " +
+                        "('ticket-2', 20.00, '2022-11-02', 'taxi', 'author-1', 'PENDING', 'TRAVEL', 1), " +
+                        "('ticket-3', 30.00, '2022-11-03', 'lunch', 'manager-1', 'PENDING', 'FOOD', 0), " +
+                        "('ticket-4', 40.00, '2022-11-04', 'other', 'author-1', 'DENIED', 'OTHER', 1)");
+            }
+
+            try {
+                // Act
+                List<ReimbursementVersion> targets = Arrays.asList(new ReimbursementVersion("ticket-1", 0), new ReimbursementVersion("ticket-2", 0),
+                        new ReimbursementVersion("ticket-3", 0), new ReimbursementVersion("ticket-4", 1), new ReimbursementVersion("ticket-5", 0));
+                BulkResolveResult result = new ReimbursementDAO().resolveAll(con, targets, "manager-1", ReimbursementStatus.APPROVED, Timestamp.valueOf("2022-11-15 12:00:00"));
+
+                // Assert
+                assertEquals(Collections.singletonList("ticket-1"), result.getResolved());
+                assertEquals(4, result.getConflicts().size());
+                assertConflict(result.getConflicts().get(0), "ticket-2", ResolveConflict.Reason.VERSION_MISMATCH, ReimbursementStatus.PENDING, 1);
+                assertConflict(result.getConflicts().get(1), "ticket-3", ResolveConflict.Reason.OWN_REIMBURSEMENT, ReimbursementStatus.PENDING, 0);
+                assertConflict(result.getConflicts().get(2), "ticket-4", ResolveConflict.Reason.NOT_PENDING, ReimbursementStatus.DENIED, 1);
+                assertConflict(result.getConflicts().get(3), "ticket-5", ResolveConflict.Reason.NOT_FOUND, null, null);
+                assertTrue(con.getAutoCommit());
+
+                try (Statement st = con.createStatement()) {
+                    ResultSet ticket = st.executeQuery("SELECT status, version, resolver_id FROM reimbursements WHERE id = 'ticket-1'");
+                    assertTrue(ticket.next());
+                    assertEquals("APPROVED", ticket.getString("status"));
+                    assertEquals(1, ticket.getInt("version"));
+                    assertEquals("manager-1", ticket.getString("resolver_id"));
+
+                    ResultSet rollup = st.executeQuery("SELECT month, type, approved_count, approved_total FROM reimbursement_rollups");
+                    assertTrue(rollup.next());
+                    assertEquals("2022-11-01", rollup.getString("month"));
+                    assertEquals("LODGING", rollup.getString("type"));
+                    assertEquals(1, rollup.getInt("approved_count"));
+                    assertEquals(new BigDecimal("10.00"), rollup.getBigDecimal("approved_total"));
+                    assertFalse(rollup.next());
+                }
+            } finally {
+                try (Statement st = con.createStatement()) {
+                    st.execute("DROP SCHEMA " + schema + " CASCADE");
+                }
+            }
+        }
+    }
+
+    private static void assertConflict(ResolveConflict conflict, String id, ResolveConflict.Reason reason, ReimbursementStatus status, Integer version) {
+        assertEquals(id, conflict.getId());
+        assertEquals(id, reason, conflict.getReason());
+        assertEquals(id, status, conflict.getCurrentStatus());
+        assertEquals(id, version, conflict.getCurrentVersion());
+    }
+
+    /* the app's schema in a fresh schema of its own, with an employee (author-1) and a finance manager (manager-1) */
+    private static void createSchema(Statement st, String schema) throws Exception {
+        st.execute("CREATE SCHEMA " + schema);
+        st.execute("SET search_path TO " + schema);
+        st.execute("CREATE TYPE roles AS ENUM ('DEFAULT', 'ADMIN')");
+        st.execute("CREATE TABLE users (id VARCHAR(36) PRIMARY KEY, username VARCHAR(20), password VARCHAR(64), role roles)");
+        for (String ddl : new String(Files.readAllBytes(Paths.get("src/main/resources/db/reimbursements.sql")), "UTF-8").split(";")) {
+            if (!ddl.replaceAll("--.*", "").trim().isEmpty()) st.execute(ddl);
+        }
+        st.execute("INSERT INTO users VALUES ('author-1', 'employee01', 'passw0rd', 'DEFAULT'), ('manager-1', 'manager01', 'passw0rd', 'FINANCE_MANAGER')");
+    }
+
+    /* scope x sort x direction x cursor x optional filters */
+    private List<ReimbursementFilter> everyQueryShape() {
+        List<ReimbursementFilter> shapes = new ArrayList<>();
+        Reimbursement last = new Reimbursement("ticket-9", new BigDecimal("250.00"), Timestamp.valueOf("2022-11-15 12:00:00"), null, "hotel", "author-1", null, ReimbursementStatus.PENDING, ReimbursementType.LODGING, 0);
+
+        for (int scope = 0; scope < 4; scope++) {
+            for (ReimbursementFilter.SortBy sortBy : ReimbursementFilter.SortBy.values()) {
+                for (boolean descending : new boolean[]{false, true}) {
+                    for (boolean withCursor : new boolean[]{false, true}) {
+                        for (boolean withFilters : new boolean[]{false, true}) {
+                            ReimbursementFilter filter = new ReimbursementFilter();
+                            if (scope == 0) filter.setAuthorId("author-1");
+                            if (scope == 1) filter.setResolverId("manager-1");
+                            if (scope == 2) filter.setStatuses(Collections.singletonList(ReimbursementStatus.PENDING));
+                            if (scope == 3) filter.setStatuses(Arrays.asList(ReimbursementStatus.APPROVED, ReimbursementStatus.DENIED));
+                            filter.setSortBy(sortBy);
+                            filter.setDescending(descending);
+                            if (withCursor) filter.setCursor(sut.encodeCursor(filter, last));
+                            if (withFilters) {
+                                filter.setTypes(Arrays.asList(ReimbursementType.FOOD, ReimbursementType.OTHER));
+                                filter.setSubmittedFrom(Timestamp.valueOf("2022-11-01 00:00:00"));
+                                filter.setSubmittedTo(Timestamp.valueOf("2022-12-01 00:00:00"));
+                                filter.setMinAmount(BigDecimal.ONE);
+                                filter.setMaxAmount(new BigDecimal("400"));
+                            }
+                            shapes.add(filter);
+                        }
+                    }
+                }
+            }
+        }
+        return shapes;
+    }
+}
@@ -0,0 +1,87 @@
+package com.revature.yolp.daos.mappers;
+
+import com.revature.yolp.models.Role;
+import com.revature.yolp.models.User;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/*
+    Compares the old by-name mapping (rs.getString("id") + Role.valueOf per row) with UserRowMapper over a 1M row result.
+    Not a JUnit test, so it does not run during mvn test. Run it with:
+        mvn test-compile exec:java -Dexec.mainClass=com.revature.yolp.daos.mappers.UserRowMapperBenchmark -Dexec.classpathScope=test
+ */
+public class UserRowMapperBenchmark {
+    private static final int ROWS = 1_000_000;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+    private static final String QUERY = "SELECT * FROM users";
+
+    public static void main(String[] args) throws SQLException {
+        try (Connection con = DriverManager.getConnection("jdbc:h2:mem:bench;MAX_MEMORY_ROWS=" + (ROWS * 2))) {
+            try (Statement st = con.createStatement()) {
+                st.execute("CREATE TABLE users (id VARCHAR(36) PRIMARY KEY, username VARCHAR(20), password VARCHAR(64), role VARCHAR(16))");
+                st.execute("INSERT INTO users SELECT RANDOM_UUID(), 'user' || X, 'passw0rd' || X, CASEWHEN(MOD(X, 10) = 0, 'ADMIN', 'DEFAULT') FROM SYSTEM_RANGE(1, " + ROWS + ")");
+            }
+
+            UserRowMapper mapper = new UserRowMapper();
+
+            for (int i = 0; i < WARMUP_ROUNDS; i++) {
+                byName(con);
+                withMapper(con, mapper);
+            }
+
+            long byNameNanos = 0;
+            long mapperNanos = 0;
+            for (int i = 0; i < MEASURED_ROUNDS; i++) {
+                byNameNanos += byName(con);
+                mapperNanos += withMapper(con, mapper);
+            }
+
+            double byNamePerRow = (double) byNameNanos / MEASURED_ROUNDS / ROWS;
+            double mapperPerRow = (double) mapperNanos / MEASURED_ROUNDS / ROWS;
+            System.out.printf("rows per round: %d, measured rounds: %d%n", ROWS, MEASURED_ROUNDS);
+            System.out.printf("by column name + Role.valueOf: %.1f ns/row%n", byNamePerRow);
+            System.out.printf("UserRowMapper:                 %.1f ns/row%n", mapperPerRow);
+            System.out.printf("speedup:                       %.2fx%n", byNamePerRow / mapperPerRow);
+        }
+    }
+
+    /* the mapping UserDAO used before UserRowMapper */
+    private static long byName(Connection con) throws SQLException {
+        try (Statement st = con.createStatement(); ResultSet rs = st.executeQuery(QUERY)) {
+            long start = System.nanoTime();
+            long checksum = 0;
+            while (rs.next()) {
+                User user = new User(rs.getString("id"), rs.getString("username"), rs.getString("password"), Role.valueOf(rs.getString("role")));
+                checksum += user.getRole().ordinal();
+            }
+            long elapsed = System.nanoTime() - start;
+            blackhole(checksum);
+            return elapsed;
+        }
+    }
+
+    private static long withMapper(Connection con, UserRowMapper mapper) throws SQLException {
+        try (Statement st = con.createStatement(); ResultSet rs = st.executeQuery(QUERY)) {
+            long start = System.nanoTime();
+            long checksum = 0;
+            RowReader<User> reader = mapper.bind(rs);
+            while (rs.next()) {
+                User user = reader.read(rs);
+                checksum += user.getRole().ordinal();
+            }
+            long elapsed = System.nanoTime() - start;
+            blackhole(checksum);
+            return elapsed;
+        }
+    }
+
+    /* keeps the JIT from throwing the mapped users away */
+    private static void blackhole(long checksum) {
+        if (checksum == Long.MIN_VALUE) System.out.println(checksum);
+    }
+}
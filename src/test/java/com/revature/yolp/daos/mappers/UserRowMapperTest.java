@@ -0,0 +1,67 @@
+package com.revature.yolp.daos.mappers;
+
+import com.revature.yolp.models.Role;
+import com.revature.yolp.models.User;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class UserRowMapperTest {
+    private UserRowMapper sut;
+    private final ResultSet mockResultSet = Mockito.mock(ResultSet.class);
+
+    @Before
+    public void init() throws SQLException {
+        sut = new UserRowMapper();
+
+        Mockito.when(mockResultSet.findColumn("id")).thenReturn(1);
+        Mockito.when(mockResultSet.findColumn("username")).thenReturn(2);
+        Mockito.when(mockResultSet.findColumn("password")).thenReturn(3);
+        Mockito.when(mockResultSet.findColumn("role")).thenReturn(4);
+    }
+
+    @Test
+    public void test_mapAll_resolvesColumnsOncePerResultSet() throws SQLException {
+        // Arrange
+        Mockito.when(mockResultSet.next()).thenReturn(true, true, false);
+        Mockito.when(mockResultSet.getString(1)).thenReturn("id-1", "id-2");
+        Mockito.when(mockResultSet.getString(2)).thenReturn("tester001", "tester002");
+        Mockito.when(mockResultSet.getString(3)).thenReturn("passw0rd", "passw0rd");
+        Mockito.when(mockResultSet.getString(4)).thenReturn("DEFAULT", "ADMIN");
+
+        // Act
+        List<User> users = RowMapper.mapAll(mockResultSet, sut);
+
+        // Assert
+        assertEquals(2, users.size());
+        assertEquals("id-2", users.get(1).getId());
+        assertEquals("tester002", users.get(1).getUsername());
+        assertEquals(Role.DEFAULT, users.get(0).getRole());
+        assertEquals(Role.ADMIN, users.get(1).getRole());
+        Mockito.verify(mockResultSet, Mockito.times(1)).findColumn("username");
+        Mockito.verify(mockResultSet, Mockito.never()).getString("username");
+    }
+
+    @Test
+    public void test_mapFirst_givenEmptyResultSet() throws SQLException {
+        // Arrange
+        Mockito.when(mockResultSet.next()).thenReturn(false);
+
+        // Act
+        User user = RowMapper.mapFirst(mockResultSet, sut);
+
+        // Assert
+        assertNull(user);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_enumLookup_givenUnknownLabel() {
+        new EnumLookup<>(Role.class).get("SUPERUSER");
+    }
+}
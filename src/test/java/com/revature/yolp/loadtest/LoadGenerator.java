@@ -0,0 +1,152 @@
+package com.revature.yolp.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/*
+ * purpose of LoadGenerator is to drive a weighted mix of operations at a fixed arrival rate (open loop)
+ *
+ * request i is due at start + i / rate no matter how earlier requests went. a slow server makes requests queue up
+ * behind the worker threads instead of slowing the generator down, and response time is measured from when the
+ * request was due, not from when a worker got around to sending it. that is the coordinated omission correction:
+ * a closed loop (send, wait, send) stops sending exactly when the server stalls and so never records the stall.
+ * service time (from actual send) is recorded too, the gap between the two is time spent queued.
+ */
+public class LoadGenerator {
+    @FunctionalInterface
+    public interface Operation {
+        /* performs one request and returns true if the response was the expected one */
+        boolean call() throws Exception;
+    }
+
+    private final Map<String, Entry> mix = new LinkedHashMap<>();
+    private int totalWeight;
+
+    public LoadGenerator add(String name, int weight, Operation operation) {
+        mix.put(name, new Entry(name, weight, operation));
+        totalWeight += weight;
+        return this;
+    }
+
+    public List<Result> run(int ratePerSecond, int warmupSeconds, int durationSeconds, int threads) throws InterruptedException {
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        Random random = new Random(42);
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+
+        for (long i = 0; ; i++) {
+            long due = start + i * intervalNanos;
+            if (due >= end) break;
+            long wait;
+            while ((wait = due - System.nanoTime()) > 0) LockSupport.parkNanos(wait);
+
+            Entry entry = pick(random.nextInt(totalWeight));
+            boolean measured = due >= measureFrom;
+            workers.execute(() -> entry.call(due, measured));
+        }
+
+        workers.shutdown();
+        if (!workers.awaitTermination(durationSeconds + 120, TimeUnit.SECONDS)) workers.shutdownNow();
+
+        List<Result> results = new ArrayList<>();
+        for (Entry entry : mix.values()) results.add(entry.result(durationSeconds));
+        return results;
+    }
+
+    private Entry pick(int ticket) {
+        for (Entry entry : mix.values()) {
+            if (ticket < entry.weight) return entry;
+            ticket -= entry.weight;
+        }
+        throw new IllegalStateException("Empty operation mix");
+    }
+
+    private static class Entry {
+        private final String name;
+        private final int weight;
+        private final Operation operation;
+        private final Recorder responseTimes = new Recorder(3);
+        private final Recorder serviceTimes = new Recorder(3);
+        private final AtomicLong errors = new AtomicLong();
+
+        private Entry(String name, int weight, Operation operation) {
+            this.name = name;
+            this.weight = weight;
+            this.operation = operation;
+        }
+
+        private void call(long due, boolean measured) {
+            long sent = System.nanoTime();
+            boolean ok;
+            try {
+                ok = operation.call();
+            } catch (Exception e) {
+                ok = false;
+            }
+            long done = System.nanoTime();
+
+            if (!measured) return;
+            responseTimes.recordValue(done - due);
+            serviceTimes.recordValue(done - sent);
+            if (!ok) errors.incrementAndGet();
+        }
+
+        private Result result(int durationSeconds) {
+            return new Result(name, responseTimes.getIntervalHistogram(), serviceTimes.getIntervalHistogram(), errors.get(), durationSeconds);
+        }
+    }
+
+    /* latencies are in nanoseconds */
+    public static class Result {
+        private final String name;
+        private final Histogram responseTimes;
+        private final Histogram serviceTimes;
+        private final long errors;
+        private final int durationSeconds;
+
+        private Result(String name, Histogram responseTimes, Histogram serviceTimes, long errors, int durationSeconds) {
+            this.name = name;
+            this.responseTimes = responseTimes;
+            this.serviceTimes = serviceTimes;
+            this.errors = errors;
+            this.durationSeconds = durationSeconds;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Histogram getResponseTimes() {
+            return responseTimes;
+        }
+
+        public Histogram getServiceTimes() {
+            return serviceTimes;
+        }
+
+        public long getCount() {
+            return responseTimes.getTotalCount();
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+
+        public double getThroughput() {
+            return (double) getCount() / durationSeconds;
+        }
+    }
+}
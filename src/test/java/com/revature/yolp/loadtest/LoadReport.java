@@ -0,0 +1,67 @@
+package com.revature.yolp.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Locale;
+
+/*
+ * purpose of LoadReport is to write a run's results where the next build can be compared against them
+ *     <dir>/<label>/report.txt              percentiles per operation, corrected and uncorrected
+ *     <dir>/<label>/<operation>.hgrm        full percentile distribution (plot with HdrHistogram's plotter)
+ *     <dir>/summary.csv                     one line per operation per run, appended
+ */
+public class LoadReport {
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private LoadReport() {
+    }
+
+    public static String write(Path dir, String label, int ratePerSecond, List<LoadGenerator.Result> results) throws IOException {
+        Path runDir = Files.createDirectories(dir.resolve(label));
+        StringBuilder report = new StringBuilder();
+        report.append(String.format(Locale.ROOT, "run %s, target rate %d req/s%n%n", label, ratePerSecond));
+        report.append(String.format(Locale.ROOT, "%-8s %8s %7s %9s  %-40s  %s%n", "op", "count", "errors", "req/s",
+                "response time ms (p50 p90 p99 p99.9 max)", "service time ms (p50 p90 p99 p99.9 max)"));
+
+        Path summary = dir.resolve("summary.csv");
+        boolean newSummary = !Files.exists(summary);
+        StringBuilder csv = new StringBuilder();
+        if (newSummary) csv.append("label,rate,op,count,errors,throughput,p50_ms,p90_ms,p99_ms,p999_ms,max_ms,service_p99_ms\n");
+
+        for (LoadGenerator.Result result : results) {
+            report.append(String.format(Locale.ROOT, "%-8s %8d %7d %9.1f  %-40s  %s%n", result.getName(), result.getCount(), result.getErrors(),
+                    result.getThroughput(), percentiles(result.getResponseTimes()), percentiles(result.getServiceTimes())));
+
+            csv.append(String.format(Locale.ROOT, "%s,%d,%s,%d,%d,%.1f", label, ratePerSecond, result.getName(), result.getCount(), result.getErrors(), result.getThroughput()));
+            for (double percentile : PERCENTILES) csv.append(String.format(Locale.ROOT, ",%.3f", millis(result.getResponseTimes().getValueAtPercentile(percentile))));
+            csv.append(String.format(Locale.ROOT, ",%.3f,%.3f%n", millis(result.getResponseTimes().getMaxValue()), millis(result.getServiceTimes().getValueAtPercentile(99))));
+
+            try (PrintStream out = new PrintStream(new FileOutputStream(runDir.resolve(result.getName() + ".hgrm").toFile()), false, "UTF-8")) {
+                result.getResponseTimes().outputPercentileDistribution(out, NANOS_PER_MILLI);
+            }
+        }
+
+        Files.write(runDir.resolve("report.txt"), report.toString().getBytes(StandardCharsets.UTF_8));
+        Files.write(summary, csv.toString().getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        return report.toString();
+    }
+
+    private static String percentiles(Histogram histogram) {
+        StringBuilder line = new StringBuilder();
+        for (double percentile : PERCENTILES) line.append(String.format(Locale.ROOT, "%.2f ", millis(histogram.getValueAtPercentile(percentile))));
+        return line.append(String.format(Locale.ROOT, "%.2f", millis(histogram.getMaxValue()))).toString();
+    }
+
+    private static double millis(long nanos) {
+        return nanos / NANOS_PER_MILLI;
+    }
+}
@@ -0,0 +1,194 @@
+package com.revature.yolp.loadtest;
+
+import com.revature.yolp.MainDriver;
+import com.revature.yolp.utils.StartupSequence;
+import io.javalin.Javalin;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/*
+    Boots the whole app in-process and drives signup / login / list users at a fixed arrival rate.
+    Excluded from mvn test, run it with:
+        mvn test -Ploadtest [-Dloadtest.rate=200] [-Dloadtest.warmup=5] [-Dloadtest.duration=30] [-Dloadtest.threads=64]
+                            [-Dloadtest.label=<name of this run>] [-Dloadtest.dir=target/loadtest]
+    Runs against an in-memory H2 in PostgreSQL mode unless a real db is given (schema has to exist there):
+        -Dyolp.test.db.url=jdbc:postgresql://localhost:5432/yolp -Dyolp.test.db.username=... -Dyolp.test.db.password=...
+    Results go to <loadtest.dir>/<label>/ and one line per operation is appended to <loadtest.dir>/summary.csv.
+ */
+public class UserEndpointsLoadTest {
+    private static final String PASSWORD = "passw0rd1";
+    private static final int SEEDED_USERS = 200;
+
+    private static final int rate = Integer.getInteger("loadtest.rate", 200);
+    private static final int warmup = Integer.getInteger("loadtest.warmup", 5);
+    private static final int duration = Integer.getInteger("loadtest.duration", 30);
+    private static final int threads = Integer.getInteger("loadtest.threads", 64);
+
+    /* usernames are unique per run so a real db can be reused */
+    private static final int runId = ThreadLocalRandom.current().nextInt(100000);
+    private static final AtomicInteger nextUser = new AtomicInteger();
+
+    private static Javalin app;
+    private static String baseUrl;
+    private static String adminToken;
+
+    @BeforeClass
+    public static void boot() throws Exception {
+        Path workDir = Files.createTempDirectory("yolp-loadtest");
+        String url = System.getProperty("yolp.test.db.url");
+        String username = System.getProperty("yolp.test.db.username", "sa");
+        String password = System.getProperty("yolp.test.db.password", "");
+        if (url == null) {
+            url = "jdbc:h2:mem:loadtest;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+            createH2Schema(url, username, password);
+        }
+
+        Properties config = new Properties();
+        config.setProperty("url", url);
+        config.setProperty("username", username);
+        config.setProperty("password", password);
+        config.setProperty("salt", "bG9hZC10ZXN0LXNpZ25pbmcta2V5LW5vdC1mb3ItcHJvZHVjdGlvbg==");
+        Path configFile = workDir.resolve("db.properties");
+        try (OutputStream out = Files.newOutputStream(configFile)) {
+            config.store(out, "load test");
+        }
+        System.setProperty("yolp.config", configFile.toString());
+        System.setProperty("yolp.audit.dir", workDir.resolve("audit").toString());
+        System.setProperty("yolp.receipts.dir", workDir.resolve("receipts").toString());
+        System.setProperty("http.maxConnections", String.valueOf(threads));
+
+        StartupSequence startupSequence = new StartupSequence();
+        app = MainDriver.start(0, startupSequence);
+        assertTrue("app did not become ready: " + startupSequence.getPhases(), startupSequence.isReady());
+        baseUrl = "http://localhost:" + app.port() + "/yolp";
+
+        for (int i = 0; i < SEEDED_USERS; i++) assertTrue(signup(username(i)));
+        nextUser.set(SEEDED_USERS);
+        try (Connection con = DriverManager.getConnection(url, username, password);
+             PreparedStatement ps = con.prepareStatement("UPDATE users SET role = ?::roles WHERE username = ?")) {
+            ps.setString(1, "ADMIN");
+            ps.setString(2, username(0));
+            assertEquals(1, ps.executeUpdate());
+        }
+        adminToken = login(username(0));
+        assertNotNull(adminToken);
+    }
+
+    @AfterClass
+    public static void shutdown() {
+        if (app != null) app.stop();
+    }
+
+    @Test
+    public void mixedUserWorkload() throws Exception {
+        LoadGenerator generator = new LoadGenerator()
+                .add("signup", 20, () -> signup(username(nextUser.getAndIncrement())))
+                .add("login", 50, () -> login(username(ThreadLocalRandom.current().nextInt(SEEDED_USERS))) != null)
+                .add("list", 30, () -> request("GET", "/users", null, adminToken).status == 200);
+
+        List<LoadGenerator.Result> results = generator.run(rate, warmup, duration, threads);
+
+        String label = System.getProperty("loadtest.label", new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()));
+        String report = LoadReport.write(Paths.get(System.getProperty("loadtest.dir", "target/loadtest")), label, rate, results);
+        System.out.println(report);
+
+        long requests = 0;
+        long errors = 0;
+        for (LoadGenerator.Result result : results) {
+            requests += result.getCount();
+            errors += result.getErrors();
+        }
+        assertTrue("only " + requests + " requests were measured", requests > (long) rate * duration * 9 / 10);
+        assertTrue(errors + " of " + requests + " requests failed", errors * 100 <= requests);
+    }
+
+    private static String username(int n) {
+        return String.format("lt%05du%07d", runId, n);
+    }
+
+    private static boolean signup(String username) throws IOException {
+        String body = "{\"username\":\"" + username + "\",\"password1\":\"" + PASSWORD + "\",\"password2\":\"" + PASSWORD + "\"}";
+        return request("POST", "/users", body, null).status == 201;
+    }
+
+    private static String login(String username) throws IOException {
+        Response response = request("POST", "/auth", "{\"username\":\"" + username + "\",\"password\":\"" + PASSWORD + "\"}", null);
+        return response.status == 202 ? response.token : null;
+    }
+
+    private static Response request(String method, String path, String body, String token) throws IOException {
+        HttpURLConnection con = (HttpURLConnection) new URL(baseUrl + path).openConnection();
+        con.setRequestMethod(method);
+        con.setConnectTimeout(10000);
+        con.setReadTimeout(60000);
+        if (token != null) con.setRequestProperty("authorization", token);
+        if (body != null) {
+            con.setDoOutput(true);
+            con.setRequestProperty("Content-Type", "application/json");
+            try (OutputStream out = con.getOutputStream()) {
+                out.write(body.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        int status = con.getResponseCode();
+        /* read the body to the end so the connection goes back to the keep-alive cache */
+        try (InputStream in = status >= 400 ? con.getErrorStream() : con.getInputStream()) {
+            if (in != null) drain(in);
+        }
+        return new Response(status, con.getHeaderField("authorization"));
+    }
+
+    private static void drain(InputStream in) throws IOException {
+        byte[] buffer = new byte[8192];
+        ByteArrayOutputStream sink = new ByteArrayOutputStream();
+        int n;
+        while ((n = in.read(buffer)) > 0) sink.write(buffer, 0, n);
+    }
+
+    private static void createH2Schema(String url, String username, String password) throws SQLException {
+        try (Connection con = DriverManager.getConnection(url, username, password); Statement st = con.createStatement()) {
+            st.execute("CREATE DOMAIN roles AS VARCHAR(20)");
+            st.execute("CREATE DOMAIN reimbursement_status AS VARCHAR(20)");
+            st.execute("CREATE DOMAIN reimbursement_type AS VARCHAR(20)");
+            st.execute("CREATE TABLE users (id VARCHAR(255) PRIMARY KEY, username VARCHAR(255) UNIQUE NOT NULL, password VARCHAR(255) NOT NULL, role roles NOT NULL)");
+            st.execute("CREATE TABLE reimbursements (id VARCHAR(255) PRIMARY KEY, amount NUMERIC(10, 2) NOT NULL, submitted TIMESTAMP NOT NULL, resolved TIMESTAMP, "
+                    + "description VARCHAR(255) NOT NULL, author_id VARCHAR(255) NOT NULL, resolver_id VARCHAR(255), status reimbursement_status NOT NULL, "
+                    + "type reimbursement_type NOT NULL, version INT NOT NULL DEFAULT 0)");
+        }
+    }
+
+    private static class Response {
+        private final int status;
+        private final String token;
+
+        private Response(int status, String token) {
+            this.status = status;
+            this.token = token;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.revature.yolp.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.revature.yolp.daos.ReimbursementDAO;
+import com.revature.yolp.models.Reimbursement;
+import com.revature.yolp.models.ReimbursementStatus;
+import com.revature.yolp.models.ReimbursementType;
+import com.revature.yolp.utils.SseBroadcaster;
+import com.revature.yolp.utils.custom_exceptions.DataAccessException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class PendingQueueServiceTest {
+    private PendingQueueService sut;
+    private SseBroadcaster broadcaster;
+    private final ReimbursementDAO mockReimbursementDao = Mockito.mock(ReimbursementDAO.class);
+    private final Reimbursement ticket = new Reimbursement("ticket-1", BigDecimal.TEN, new Timestamp(0), null, "hotel", "author-1", null, ReimbursementStatus.PENDING, ReimbursementType.LODGING, 0);
+
+    @Before
+    public void init() {
+        broadcaster = new SseBroadcaster(1);
+        sut = new PendingQueueService(mockReimbursementDao, broadcaster, new ObjectMapper());
+    }
+
+    @After
+    public void cleanup() {
+        broadcaster.shutdown();
+    }
+
+    @Test
+    public void test_seed_loadsPendingReimbursements() {
+        // Arrange
+        Mockito.when(mockReimbursementDao.findAllByStatus(ReimbursementStatus.PENDING)).thenReturn(Collections.singletonList(ticket));
+
+        // Act
+        sut.seed();
+
+        // Assert
+        assertEquals(Collections.singletonList(ticket), sut.getPending());
+    }
+
+    @Test
+    public void test_seed_givenDbFailureKeepsQueueAndThrows() {
+        // Arrange
+        Mockito.when(mockReimbursementDao.findAllByStatus(ReimbursementStatus.PENDING)).thenReturn(Collections.singletonList(ticket)).thenThrow(new DataAccessException("db down"));
+        sut.seed();
+
+        // Act
+        try {
+            sut.seed();
+            fail("a failed query must not seed an empty queue");
+        } catch (DataAccessException expected) {
+        }
+
+        // Assert
+        assertEquals(1, sut.getPending().size());
+    }
+
+    @Test
+    public void test_onUpdated_replacesQueuedVersion() {
+        // Arrange
+        Mockito.when(mockReimbursementDao.findAllByStatus(ReimbursementStatus.PENDING)).thenReturn(Collections.singletonList(ticket));
+        sut.seed();
+        Reimbursement withReceipt = new Reimbursement("ticket-1", BigDecimal.TEN, new Timestamp(0), null, "hotel", "author-1", null, ReimbursementStatus.PENDING, ReimbursementType.LODGING, 1);
+
+        // Act
+        sut.onUpdated(withReceipt);
+
+        // Assert
+        assertEquals(1, sut.getPending().size());
+        assertEquals(1, sut.getPending().get(0).getVersion());
+    }
+
+    @Test
+    public void test_onUpdated_ignoresOlderVersion() {
+        // Arrange
+        Mockito.when(mockReimbursementDao.findAllByStatus(ReimbursementStatus.PENDING)).thenReturn(Collections.singletonList(ticket));
+        sut.seed();
+        Reimbursement second = new Reimbursement("ticket-1", BigDecimal.TEN, new Timestamp(0), null, "hotel", "author-1", null, ReimbursementStatus.PENDING, ReimbursementType.LODGING, 2);
+        Reimbursement first = new Reimbursement("ticket-1", BigDecimal.TEN, new Timestamp(0), null, "hotel", "author-1", null, ReimbursementStatus.PENDING, ReimbursementType.LODGING, 1);
+
+        // Act
+        sut.onUpdated(second);
+        sut.onUpdated(first);
+
+        // Assert
+        assertEquals(1, sut.getPending().size());
+        assertEquals(2, sut.getPending().get(0).getVersion());
+    }
+}
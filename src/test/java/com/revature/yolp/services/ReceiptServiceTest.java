@@ -0,0 +1,159 @@
+package com.revature.yolp.services;
+
+import com.revature.yolp.daos.ReceiptDAO;
+import com.revature.yolp.daos.ReimbursementDAO;
+import com.revature.yolp.dtos.responses.Principal;
+import com.revature.yolp.models.Receipt;
+import com.revature.yolp.models.Reimbursement;
+import com.revature.yolp.models.ReimbursementStatus;
+import com.revature.yolp.models.ReimbursementType;
+import com.revature.yolp.models.Role;
+import com.revature.yolp.utils.ReceiptStore;
+import com.revature.yolp.utils.custom_exceptions.DataAccessException;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.sql.Timestamp;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.junit.Assert.*;
+
+public class ReceiptServiceTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private ReceiptService sut;
+    private ReceiptStore store;
+    private final ReceiptDAO mockReceiptDao = Mockito.mock(ReceiptDAO.class);
+    private final ReimbursementDAO mockReimbursementDao = Mockito.mock(ReimbursementDAO.class);
+    private final PendingQueueService mockPendingQueue = Mockito.mock(PendingQueueService.class);
+    private final Principal employee = new Principal("author-1", "employee01", Role.DEFAULT);
+    private final Reimbursement pending = new Reimbursement("ticket-1", BigDecimal.TEN, new Timestamp(0), null, "hotel", "author-1", null, ReimbursementStatus.PENDING, ReimbursementType.LODGING, 0);
+
+    @Before
+    public void init() throws IOException {
+        store = new ReceiptStore(folder.newFolder("receipts").toPath());
+        sut = new ReceiptService(mockReceiptDao, mockReimbursementDao, store, mockPendingQueue);
+        Mockito.when(mockReimbursementDao.findById("ticket-1")).thenReturn(pending);
+    }
+
+    @Test
+    public void test_upload_publishesBumpedVersion() throws IOException {
+        // Arrange
+        Reimbursement bumped = new Reimbursement("ticket-1", BigDecimal.TEN, new Timestamp(0), null, "hotel", "author-1", null, ReimbursementStatus.PENDING, ReimbursementType.LODGING, 1);
+        Mockito.when(mockReimbursementDao.findById("ticket-1")).thenReturn(pending, bumped);
+
+        // Act
+        sut.upload(employee, "ticket-1", "image/png", new ByteArrayInputStream("receipt".getBytes(StandardCharsets.UTF_8)));
+
+        // Assert
+        Mockito.verify(mockReceiptDao, Mockito.times(1)).replace(Mockito.any(Receipt.class));
+        Mockito.verify(mockPendingQueue, Mockito.times(1)).onUpdated(bumped);
+    }
+
+    @Test
+    public void test_upload_failedSaveDeletesNewFile() throws Exception {
+        // Arrange
+        Mockito.when(mockReceiptDao.replace(Mockito.any(Receipt.class))).thenThrow(new DataAccessException("db down"));
+        byte[] bytes = "receipt".getBytes(StandardCharsets.UTF_8);
+
+        // Act
+        try {
+            sut.upload(employee, "ticket-1", "image/png", new ByteArrayInputStream(bytes));
+            fail("save failure should propagate");
+        } catch (DataAccessException expected) {
+        }
+
+        // Assert
+        assertFalse(Files.exists(store.resolve(sha256(bytes))));
+    }
+
+    @Test
+    public void test_upload_failedSaveKeepsDuplicateFile() throws Exception {
+        // Arrange
+        Mockito.when(mockReceiptDao.replace(Mockito.any(Receipt.class))).thenThrow(new DataAccessException("db down"));
+        byte[] bytes = "receipt".getBytes(StandardCharsets.UTF_8);
+        store.store(new ByteArrayInputStream(bytes), bytes.length);
+
+        // Act
+        try {
+            sut.upload(employee, "ticket-1", "image/png", new ByteArrayInputStream(bytes));
+            fail("save failure should propagate");
+        } catch (DataAccessException expected) {
+        }
+
+        // Assert
+        assertTrue(Files.exists(store.resolve(sha256(bytes))));
+    }
+
+    @Test
+    public void test_upload_failedSaveLeavesFileForConcurrentSameBytesUpload() throws Exception {
+        // Arrange (the second upload of the same bytes starts while the first one's save is failing)
+        byte[] bytes = "receipt".getBytes(StandardCharsets.UTF_8);
+        Lock lock = store.lockFor(sha256(bytes));
+        AtomicReference<Thread> second = new AtomicReference<>();
+        Mockito.when(mockReceiptDao.replace(Mockito.any(Receipt.class))).thenAnswer(invocation -> {
+            Thread upload = new Thread(() -> {
+                try {
+                    sut.upload(employee, "ticket-1", "image/png", new ByteArrayInputStream(bytes));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            second.set(upload);
+            upload.start();
+            while (!((ReentrantLock) lock).hasQueuedThread(upload)) Thread.sleep(1);
+            throw new DataAccessException("db down");
+        }).thenReturn(null);
+        Mockito.when(mockReceiptDao.isHashReferenced(Mockito.anyString())).thenReturn(false);
+
+        // Act
+        try {
+            sut.upload(employee, "ticket-1", "image/png", new ByteArrayInputStream(bytes));
+            fail("save failure should propagate");
+        } catch (DataAccessException expected) {
+        }
+        second.get().join(5000);
+
+        // Assert (the first upload deleted its file before the second one could find it, so the second linked it again)
+        assertTrue(Files.exists(store.resolve(sha256(bytes))));
+        Mockito.verify(mockReceiptDao, Mockito.times(2)).replace(Mockito.any(Receipt.class));
+    }
+
+    @Test
+    public void test_upload_replacingReleasesPreviousFile() throws Exception {
+        // Arrange
+        byte[] old = "old receipt".getBytes(StandardCharsets.UTF_8);
+        byte[] shared = "shared receipt".getBytes(StandardCharsets.UTF_8);
+        store.store(new ByteArrayInputStream(old), old.length);
+        store.store(new ByteArrayInputStream(shared), shared.length);
+        Mockito.when(mockReceiptDao.replace(Mockito.any(Receipt.class))).thenReturn(sha256(old), sha256(shared));
+        Mockito.when(mockReceiptDao.isHashReferenced(sha256(shared))).thenReturn(true);
+
+        // Act
+        sut.upload(employee, "ticket-1", "image/png", new ByteArrayInputStream("new receipt".getBytes(StandardCharsets.UTF_8)));
+        sut.upload(employee, "ticket-1", "image/png", new ByteArrayInputStream("newer receipt".getBytes(StandardCharsets.UTF_8)));
+
+        // Assert (the old file is gone, the one another receipt still points at stays)
+        assertFalse(Files.exists(store.resolve(sha256(old))));
+        assertTrue(Files.exists(store.resolve(sha256(shared))));
+    }
+
+    private static String sha256(byte[] bytes) throws Exception {
+        StringBuilder hex = new StringBuilder();
+        for (byte b : MessageDigest.getInstance("SHA-256").digest(bytes)) hex.append(String.format("%02x", b));
+        return hex.toString();
+    }
+}
@@ -0,0 +1,198 @@
+package com.revature.yolp.services;
+
+import com.revature.yolp.daos.ReimbursementDAO;
+import com.revature.yolp.daos.ReimbursementQueryBuilder;
+import com.revature.yolp.daos.SqlQuery;
+import com.revature.yolp.dtos.requests.BulkResolveRequest;
+import com.revature.yolp.dtos.requests.NewReimbursementRequest;
+import com.revature.yolp.dtos.requests.ReimbursementFilter;
+import com.revature.yolp.dtos.requests.ReimbursementVersion;
+import com.revature.yolp.dtos.requests.UpdateReimbursementRequest;
+import com.revature.yolp.dtos.responses.BulkResolveResult;
+import com.revature.yolp.dtos.responses.ResolveConflict;
+import com.revature.yolp.dtos.responses.Principal;
+import com.revature.yolp.dtos.responses.ReimbursementPage;
+import com.revature.yolp.models.Reimbursement;
+import com.revature.yolp.models.ReimbursementStatus;
+import com.revature.yolp.models.ReimbursementType;
+import com.revature.yolp.models.Role;
+import com.revature.yolp.utils.audit.AuditAction;
+import com.revature.yolp.utils.audit.AuditJournal;
+import com.revature.yolp.utils.custom_exceptions.DataAccessException;
+import com.revature.yolp.utils.custom_exceptions.InvalidAuthException;
+import com.revature.yolp.utils.custom_exceptions.InvalidReimbursementException;
+import com.revature.yolp.utils.custom_exceptions.ReimbursementConflictException;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ReimbursementServiceTest {
+    private ReimbursementService sut;
+    private final ReimbursementDAO mockReimbursementDao = Mockito.mock(ReimbursementDAO.class);
+    private final PendingQueueService mockPendingQueue = Mockito.mock(PendingQueueService.class);
+    private final AuditJournal mockAuditJournal = Mockito.mock(AuditJournal.class);
+    private final Principal employee = new Principal("author-1", "employee01", Role.DEFAULT);
+    private final Principal manager = new Principal("manager-1", "manager01", Role.FINANCE_MANAGER);
+
+    @Before
+    public void init() {
+        sut = new ReimbursementService(mockReimbursementDao, new ReimbursementQueryBuilder(), mockPendingQueue, mockAuditJournal);
+    }
+
+    @Test
+    public void test_submit_persistPendingReimbursement() {
+        // Arrange
+        NewReimbursementRequest req = new NewReimbursementRequest(new BigDecimal("42.50"), "team lunch", "food");
+
+        // Act
+        Reimbursement created = sut.submit(req, employee.getId());
+
+        // Assert
+        assertNotNull(created.getId());
+        assertEquals(ReimbursementStatus.PENDING, created.getStatus());
+        assertEquals(ReimbursementType.FOOD, created.getType());
+        assertEquals("author-1", created.getAuthorId());
+        Mockito.verify(mockReimbursementDao, Mockito.times(1)).save(created);
+        Mockito.verify(mockPendingQueue, Mockito.times(1)).onSubmitted(created);
+        Mockito.verify(mockAuditJournal, Mockito.times(1)).append(AuditAction.REIMBURSEMENT_SUBMITTED, "author-1", created.getId(), null, ReimbursementStatus.PENDING);
+    }
+
+    @Test
+    public void test_submit_failedSaveHasNoSideEffects() {
+        // Arrange
+        Mockito.doThrow(new DataAccessException("db is down")).when(mockReimbursementDao).save(Mockito.any(Reimbursement.class));
+
+        // Act
+        try {
+            sut.submit(new NewReimbursementRequest(new BigDecimal("42.50"), "team lunch", "food"), employee.getId());
+            fail("submit succeeded without a save");
+        } catch (DataAccessException expected) {
+        }
+
+        // Assert
+        Mockito.verifyNoInteractions(mockAuditJournal, mockPendingQueue);
+    }
+
+    @Test(expected = InvalidReimbursementException.class)
+    public void test_submit_givenNegativeAmount() {
+        sut.submit(new NewReimbursementRequest(new BigDecimal("-1"), "team lunch", "FOOD"), employee.getId());
+    }
+
+    @Test
+    public void test_getHistory_employeeIsScopedToOwnTickets() {
+        // Arrange
+        ArgumentCaptor<SqlQuery> captor = ArgumentCaptor.forClass(SqlQuery.class);
+        Mockito.when(mockReimbursementDao.findByQuery(captor.capture())).thenReturn(new ArrayList<>());
+
+        // Act
+        sut.getHistory(employee, new ReimbursementFilter());
+
+        // Assert
+        assertTrue(captor.getValue().getSql().contains("author_id = ?"));
+        assertEquals("author-1", captor.getValue().getParams().get(0));
+    }
+
+    @Test(expected = InvalidAuthException.class)
+    public void test_getHistory_employeeCannotReadOtherAuthor() {
+        ReimbursementFilter filter = new ReimbursementFilter();
+        filter.setAuthorId("author-2");
+
+        sut.getHistory(employee, filter);
+    }
+
+    @Test
+    public void test_getHistory_managerDefaultsToPendingAndPages() {
+        // Arrange
+        ReimbursementFilter filter = new ReimbursementFilter();
+        filter.setLimit(2);
+        List<Reimbursement> stubbed = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            stubbed.add(new Reimbursement("ticket-" + i, BigDecimal.TEN, new Timestamp(i), null, "hotel", "author-1", null, ReimbursementStatus.PENDING, ReimbursementType.LODGING, 0));
+        }
+        Mockito.when(mockReimbursementDao.findByQuery(Mockito.any(SqlQuery.class))).thenReturn(stubbed);
+
+        // Act
+        ReimbursementPage page = sut.getHistory(manager, filter);
+
+        // Assert
+        assertEquals(ReimbursementStatus.PENDING, filter.getStatuses().get(0));
+        assertEquals(2, page.getReimbursements().size());
+        assertNotNull(page.getNextCursor());
+    }
+
+    @Test(expected = InvalidReimbursementException.class)
+    public void test_getHistory_givenOversizedPage() {
+        ReimbursementFilter filter = new ReimbursementFilter();
+        filter.setLimit(ReimbursementService.MAX_PAGE_SIZE + 1);
+
+        sut.getHistory(employee, filter);
+    }
+
+    @Test
+    public void test_resolve_removesFromPendingQueue() {
+        // Arrange
+        Mockito.when(mockReimbursementDao.resolve(Mockito.eq("ticket-1"), Mockito.eq("manager-1"), Mockito.eq(ReimbursementStatus.APPROVED), Mockito.any(Timestamp.class))).thenReturn(true);
+
+        // Act
+        sut.resolve(manager, "ticket-1", new UpdateReimbursementRequest("approved"));
+
+        // Assert
+        Mockito.verify(mockPendingQueue, Mockito.times(1)).onResolved(Collections.singletonList("ticket-1"));
+        Mockito.verify(mockAuditJournal, Mockito.times(1)).append(AuditAction.REIMBURSEMENT_RESOLVED, "manager-1", "ticket-1", ReimbursementStatus.PENDING, ReimbursementStatus.APPROVED);
+    }
+
+    @Test(expected = ReimbursementConflictException.class)
+    public void test_resolve_givenAlreadyResolvedTicket() {
+        Mockito.when(mockReimbursementDao.resolve(Mockito.anyString(), Mockito.anyString(), Mockito.any(), Mockito.any())).thenReturn(false);
+
+        sut.resolve(manager, "ticket-1", new UpdateReimbursementRequest("DENIED"));
+    }
+
+    @Test(expected = InvalidReimbursementException.class)
+    public void test_resolve_givenInvalidStatus() {
+        sut.resolve(manager, "ticket-1", new UpdateReimbursementRequest("MAYBE"));
+    }
+
+    @Test(expected = InvalidAuthException.class)
+    public void test_resolve_givenEmployee() {
+        sut.resolve(employee, "ticket-1", new UpdateReimbursementRequest("APPROVED"));
+    }
+
+    @Test
+    public void test_resolveAll_onlyResolvedLeaveThePendingQueue() {
+        // Arrange
+        BulkResolveRequest req = new BulkResolveRequest("APPROVED", Arrays.asList(new ReimbursementVersion("ticket-1", 0), new ReimbursementVersion("ticket-2", 3)));
+        BulkResolveResult stubbed = new BulkResolveResult(Collections.singletonList("ticket-1"),
+                Collections.singletonList(new ResolveConflict("ticket-2", ResolveConflict.Reason.VERSION_MISMATCH, ReimbursementStatus.PENDING, 4)));
+        Mockito.when(mockReimbursementDao.resolveAll(Mockito.anyList(), Mockito.eq("manager-1"), Mockito.eq(ReimbursementStatus.APPROVED), Mockito.any(Timestamp.class))).thenReturn(stubbed);
+
+        // Act
+        BulkResolveResult result = sut.resolveAll(manager, req);
+
+        // Assert
+        assertEquals(1, result.getConflicts().size());
+        Mockito.verify(mockPendingQueue, Mockito.times(1)).onResolved(Collections.singletonList("ticket-1"));
+        Mockito.verify(mockAuditJournal, Mockito.times(1)).append(AuditAction.REIMBURSEMENT_RESOLVED, "manager-1", "ticket-1", ReimbursementStatus.PENDING, ReimbursementStatus.APPROVED);
+        Mockito.verifyNoMoreInteractions(mockAuditJournal);
+    }
+
+    @Test(expected = InvalidReimbursementException.class)
+    public void test_resolveAll_givenDuplicateIds() {
+        sut.resolveAll(manager, new BulkResolveRequest("DENIED", Arrays.asList(new ReimbursementVersion("ticket-1", 0), new ReimbursementVersion("ticket-1", 0))));
+    }
+
+    @Test(expected = InvalidReimbursementException.class)
+    public void test_resolveAll_givenPendingAsTargetStatus() {
+        sut.resolveAll(manager, new BulkResolveRequest("PENDING", Collections.singletonList(new ReimbursementVersion("ticket-1", 0))));
+    }
+}
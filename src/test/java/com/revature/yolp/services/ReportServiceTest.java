@@ -0,0 +1,107 @@
+package com.revature.yolp.services;
+
+import com.revature.yolp.daos.ReimbursementDAO;
+import com.revature.yolp.daos.ReportDAO;
+import com.revature.yolp.dtos.responses.Principal;
+import com.revature.yolp.models.Reimbursement;
+import com.revature.yolp.models.ReimbursementStatus;
+import com.revature.yolp.models.ReimbursementType;
+import com.revature.yolp.models.Role;
+import com.revature.yolp.utils.custom_exceptions.DataAccessException;
+import com.revature.yolp.utils.custom_exceptions.InvalidAuthException;
+import com.revature.yolp.utils.custom_exceptions.InvalidReimbursementException;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.*;
+
+public class ReportServiceTest {
+    private ReportService sut;
+    private final ReportDAO mockReportDao = Mockito.mock(ReportDAO.class);
+    private final ReimbursementDAO mockReimbursementDao = Mockito.mock(ReimbursementDAO.class);
+    private final Principal employee = new Principal("author-1", "employee01", Role.DEFAULT);
+    private final Principal manager = new Principal("manager-1", "manager01", Role.FINANCE_MANAGER);
+
+    @Before
+    public void init() {
+        sut = new ReportService(mockReportDao, mockReimbursementDao);
+    }
+
+    @Test
+    public void test_getSpend_employeeSeesOnlyOwnSpend() {
+        // Act
+        sut.getSpend(employee, "2022-01", "2022-12", "type");
+
+        // Assert
+        Mockito.verify(mockReportDao).findSpend(Date.valueOf("2022-01-01"), Date.valueOf("2023-01-01"), true, false, "author-1");
+    }
+
+    @Test
+    public void test_getSpend_managerSeesEveryone() {
+        sut.getSpend(manager, "2022-11", "2022-11", "employee,type");
+
+        Mockito.verify(mockReportDao).findSpend(Date.valueOf("2022-11-01"), Date.valueOf("2022-12-01"), true, true, null);
+    }
+
+    @Test(expected = InvalidReimbursementException.class)
+    public void test_getSpend_givenUnknownGrouping() {
+        sut.getSpend(manager, "2022-11", "2022-11", "resolver");
+    }
+
+    @Test(expected = DataAccessException.class)
+    public void test_getSpend_dbFailurePropagates() {
+        // Arrange
+        Mockito.when(mockReportDao.findSpend(Mockito.any(), Mockito.any(), Mockito.anyBoolean(), Mockito.anyBoolean(), Mockito.any()))
+                .thenThrow(new DataAccessException("connection reset"));
+
+        // Act
+        sut.getSpend(manager, "2022-11", "2022-11", null);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void test_exportCsv_writesHeaderAndStreamedRows() throws IOException {
+        // Arrange
+        StringWriter out = new StringWriter();
+        Mockito.doAnswer(invocation -> {
+            Consumer<Reimbursement> consumer = invocation.getArgument(2);
+            consumer.accept(new Reimbursement("ticket-1", new BigDecimal("12.50"), Timestamp.valueOf("2022-11-02 09:00:00"), null, "taxi, airport", "author-1", null, ReimbursementStatus.PENDING, ReimbursementType.TRAVEL, 0));
+            return null;
+        }).when(mockReimbursementDao).forEachSubmittedBetween(Mockito.eq(Timestamp.valueOf("2022-11-01 00:00:00")), Mockito.eq(Timestamp.valueOf("2022-12-01 00:00:00")), Mockito.any(Consumer.class));
+
+        // Act
+        sut.exportCsv(manager, "2022-11-01", "2022-11-30", out);
+
+        // Assert
+        String[] lines = out.toString().split("\r\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("id,submitted"));
+        assertEquals("ticket-1,2022-11-02 09:00:00.0,,author-1,,TRAVEL,PENDING,12.50,\"taxi, airport\"", lines[1]);
+    }
+
+    @Test(expected = DataAccessException.class)
+    public void test_exportCsv_failureMidStreamPropagates() throws IOException {
+        // Arrange
+        Mockito.doAnswer(invocation -> {
+            Consumer<Reimbursement> consumer = invocation.getArgument(2);
+            consumer.accept(new Reimbursement("ticket-1", new BigDecimal("12.50"), Timestamp.valueOf("2022-11-02 09:00:00"), null, "taxi", "author-1", null, ReimbursementStatus.PENDING, ReimbursementType.TRAVEL, 0));
+            throw new DataAccessException("connection reset");
+        }).when(mockReimbursementDao).forEachSubmittedBetween(Mockito.any(Timestamp.class), Mockito.any(Timestamp.class), Mockito.any(Consumer.class));
+
+        // Act
+        sut.exportCsv(manager, "2022-11-01", "2022-11-30", new StringWriter());
+    }
+
+    @Test(expected = InvalidAuthException.class)
+    public void test_exportCsv_givenEmployee() throws IOException {
+        sut.exportCsv(employee, "2022-11-01", "2022-11-30", new StringWriter());
+    }
+}
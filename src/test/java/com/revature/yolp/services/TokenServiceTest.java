@@ -0,0 +1,181 @@
+package com.revature.yolp.services;
+
+import com.revature.yolp.daos.UserDAO;
+import com.revature.yolp.dtos.responses.Principal;
+import com.revature.yolp.models.Role;
+import com.revature.yolp.models.User;
+import com.revature.yolp.utils.JwtConfig;
+import com.revature.yolp.utils.custom_exceptions.InvalidAuthException;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.Jwts;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.Date;
+import java.util.Properties;
+
+import static org.junit.Assert.*;
+
+public class TokenServiceTest {
+    private static final String OLD_SECRET = "b2xkLXRlc3Qtc2lnbmluZy1rZXktbm90LWZvci1wcm9kdWN0aW9u";
+    private static final String NEW_SECRET = "bmV3LXRlc3Qtc2lnbmluZy1rZXktbm90LWZvci1wcm9kdWN0aW9u";
+
+    private JwtConfig jwtConfig;
+    private TokenService sut;
+    private final UserDAO mockUserDao = Mockito.mock(UserDAO.class);
+    private final Principal employee = new Principal("author-1", "employee01", Role.DEFAULT);
+
+    @Before
+    public void init() {
+        jwtConfig = new JwtConfig(keys("old", "old"));
+        sut = new TokenService(jwtConfig, mockUserDao);
+    }
+
+    @Test
+    public void test_generateToken_namesSigningKey() {
+        // Act
+        String token = sut.generateToken(employee);
+
+        // Assert
+        assertEquals("old", Jwts.parser().setSigningKey(jwtConfig.getKeyRing().getSigningKey()).parseClaimsJws(token).getHeader().getKeyId());
+        assertEquals("employee01", sut.extractRequesterDetails(token).getUsername());
+    }
+
+    @Test
+    public void test_extractRequesterDetails_acceptsOldKeyAfterRotation() {
+        // Arrange
+        String oldToken = sut.generateToken(employee);
+
+        // Act
+        jwtConfig.reload(keys("new,old", "new", "old"));
+        String newToken = sut.generateToken(employee);
+
+        // Assert
+        assertNotNull(sut.extractRequesterDetails(oldToken));
+        assertNotNull(sut.extractRequesterDetails(newToken));
+        assertEquals("new", jwtConfig.getKeyRing().getSigningKeyId());
+    }
+
+    @Test
+    public void test_extractRequesterDetails_droppedKeyVerifiesUntilTokensExpire() {
+        // Arrange
+        String oldToken = sut.generateToken(employee);
+
+        // Act
+        jwtConfig.reload(keys("new", "new"));
+        jwtConfig.reload(keys("new", "new"));
+
+        // Assert
+        assertTrue(jwtConfig.getKeyRing().isRetired("old"));
+        assertNotNull(sut.extractRequesterDetails(oldToken));
+    }
+
+    @Test
+    public void test_extractRequesterDetails_givenUnknownKeyId() {
+        // Arrange
+        String forged = Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, "unknown")
+                .setId("author-1")
+                .setSubject("employee01")
+                .claim("role", Role.FINANCE_MANAGER)
+                .signWith(jwtConfig.getSigAlg(), jwtConfig.getKeyRing().getSigningKey())
+                .compact();
+
+        // Act
+        Principal principal = sut.extractRequesterDetails(forged);
+
+        // Assert
+        assertNull(principal);
+    }
+
+    @Test
+    public void test_extractRequesterDetails_tokenWithoutKeyIdUsesSaltKey() {
+        // Arrange
+        Properties properties = new Properties();
+        properties.setProperty("salt", OLD_SECRET);
+        JwtConfig legacyConfig = new JwtConfig(properties);
+        String legacyToken = Jwts.builder()
+                .setId("author-1")
+                .setSubject("employee01")
+                .setExpiration(new Date(System.currentTimeMillis() + 60000))
+                .claim("role", Role.DEFAULT)
+                .signWith(legacyConfig.getSigAlg(), legacyConfig.getKeyRing().getSigningKey())
+                .compact();
+
+        // Act
+        Principal principal = new TokenService(legacyConfig, mockUserDao).extractRequesterDetails(legacyToken);
+
+        // Assert
+        assertEquals("author-1", principal.getId());
+    }
+
+    @Test
+    public void test_refreshToken_reissuesWithCurrentKey() {
+        // Arrange
+        String oldToken = sut.generateToken(employee);
+        jwtConfig.reload(keys("new,old", "new", "old"));
+        Mockito.when(mockUserDao.findById("author-1")).thenReturn(new User("author-1", "employee01", "passw0rd", Role.DEFAULT));
+
+        // Act
+        String refreshed = sut.refreshToken(oldToken);
+
+        // Assert
+        assertEquals("new", Jwts.parser().setSigningKey(jwtConfig.getKeyRing().getSigningKey()).parseClaimsJws(refreshed).getHeader().getKeyId());
+        assertEquals("author-1", sut.extractRequesterDetails(refreshed).getId());
+    }
+
+    @Test(expected = InvalidAuthException.class)
+    public void test_refreshToken_givenSessionPastMaxAge() {
+        // Arrange
+        long now = System.currentTimeMillis();
+        String token = Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, "old")
+                .setId("author-1")
+                .setSubject("employee01")
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + 60000))
+                .claim("role", Role.DEFAULT)
+                .claim("auth_time", (now - jwtConfig.getMaxSessionAge()) / 1000 - 1)
+                .signWith(jwtConfig.getSigAlg(), jwtConfig.getKeyRing().getSigningKey())
+                .compact();
+
+        // Act
+        sut.refreshToken(token);
+    }
+
+    @Test
+    public void test_refreshToken_picksUpChangedRole() {
+        // Arrange
+        String token = sut.generateToken(employee);
+        Mockito.when(mockUserDao.findById("author-1")).thenReturn(new User("author-1", "employee01", "passw0rd", Role.FINANCE_MANAGER));
+
+        // Act
+        String refreshed = sut.refreshToken(token);
+
+        // Assert
+        assertEquals(Role.FINANCE_MANAGER, sut.extractRequesterDetails(refreshed).getRole());
+    }
+
+    @Test(expected = InvalidAuthException.class)
+    public void test_refreshToken_givenDeletedUser() {
+        // Arrange
+        String token = sut.generateToken(employee);
+        Mockito.when(mockUserDao.findById("author-1")).thenReturn(null);
+
+        // Act
+        sut.refreshToken(token);
+    }
+
+    @Test(expected = InvalidAuthException.class)
+    public void test_refreshToken_givenGarbage() {
+        sut.refreshToken("not.a.token");
+    }
+
+    private static Properties keys(String kids, String... withSecrets) {
+        Properties properties = new Properties();
+        properties.setProperty("jwt.keys", kids);
+        for (String kid : withSecrets) properties.setProperty("jwt.key." + kid, kid.equals("old") ? OLD_SECRET : NEW_SECRET);
+        return properties;
+    }
+}
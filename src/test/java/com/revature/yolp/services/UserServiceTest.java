@@ -4,6 +4,8 @@ import com.revature.yolp.daos.UserDAO;
 import com.revature.yolp.dtos.requests.NewUserRequest;
 import com.revature.yolp.models.Role;
 import com.revature.yolp.models.User;
+import com.revature.yolp.utils.UsernameDirectory;
+import com.revature.yolp.utils.custom_exceptions.DataAccessException;
 import com.revature.yolp.utils.custom_exceptions.InvalidUserException;
 import org.junit.Before;
 import org.junit.Test;
@@ -99,6 +101,62 @@ public class UserServiceTest {
         Mockito.verify(mockUserDao, Mockito.times(1)).save(createdUser);
     }
 
+    @Test
+    public void test_isDuplicateUsername_answersFromDirectory() {
+        // Arrange
+        UsernameDirectory directory = new UsernameDirectory(16);
+        directory.put("tester001", UUID.randomUUID());
+        UserService directorySut = new UserService(mockUserDao, directory);
+
+        // Act
+        boolean taken = directorySut.isDuplicateUsername("tester001");
+        boolean free = directorySut.isDuplicateUsername("tester002");
+
+        // Assert
+        assertTrue(taken);
+        assertFalse(free);
+        Mockito.verifyNoInteractions(mockUserDao);
+    }
+
+    @Test
+    public void test_signup_nameTakenElsewhereIsLearned() {
+        // Arrange
+        UsernameDirectory directory = new UsernameDirectory(16);
+        UserService directorySut = new UserService(mockUserDao, directory);
+        String otherInstanceUserId = UUID.randomUUID().toString();
+        Mockito.doThrow(new InvalidUserException("Username is already taken")).when(mockUserDao).save(Mockito.any(User.class));
+        Mockito.when(mockUserDao.findIdByUsername("tester001")).thenReturn(otherInstanceUserId);
+
+        // Act
+        try {
+            directorySut.signup(new NewUserRequest("tester001", "passw0rd", "passw0rd"));
+            fail("signup succeeded on a taken username");
+        } catch (InvalidUserException expected) {
+        }
+
+        // Assert
+        assertEquals(UUID.fromString(otherInstanceUserId), directory.get("tester001"));
+        assertTrue(directorySut.isDuplicateUsername("tester001"));
+    }
+
+    @Test
+    public void test_signup_failedSaveStaysOutOfDirectory() {
+        // Arrange
+        UsernameDirectory directory = new UsernameDirectory(16);
+        UserService directorySut = new UserService(mockUserDao, directory);
+        Mockito.doThrow(new DataAccessException("db is down")).when(mockUserDao).save(Mockito.any(User.class));
+
+        // Act
+        try {
+            directorySut.signup(new NewUserRequest("michael007", "passw0rd", "passw0rd"));
+            fail("signup succeeded without a save");
+        } catch (DataAccessException expected) {
+        }
+
+        // Assert
+        assertFalse(directory.contains("michael007"));
+    }
+
     @Test(expected = InvalidUserException.class)
     public void test_invalidUsername_givenIncorrectUsername() {
         // do some logic to throw exception
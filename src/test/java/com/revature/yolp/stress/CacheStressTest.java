@@ -0,0 +1,126 @@
+package com.revature.yolp.stress;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.revature.yolp.daos.ReimbursementDAO;
+import com.revature.yolp.dtos.requests.BulkResolveRequest;
+import com.revature.yolp.dtos.requests.NewLoginRequest;
+import com.revature.yolp.dtos.requests.NewReimbursementRequest;
+import com.revature.yolp.dtos.requests.NewUserRequest;
+import com.revature.yolp.dtos.requests.UpdateReimbursementRequest;
+import com.revature.yolp.dtos.responses.Principal;
+import com.revature.yolp.models.Reimbursement;
+import com.revature.yolp.models.ReimbursementStatus;
+import com.revature.yolp.models.ReimbursementType;
+import com.revature.yolp.models.Role;
+import com.revature.yolp.services.PendingQueueService;
+import com.revature.yolp.utils.BodyCodec;
+import com.revature.yolp.utils.SseBroadcaster;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static org.junit.Assert.*;
+
+public class CacheStressTest {
+    private static final Class<?>[] TYPES = {NewUserRequest.class, NewLoginRequest.class, NewReimbursementRequest.class,
+            UpdateReimbursementRequest.class, BulkResolveRequest.class, Principal.class};
+
+    /* racing first lookups must all end up with the one published reader/writer per type and format */
+    @Test
+    public void test_bodyCodec_everyThreadSeesOneReaderPerTypeAndFormat() throws InterruptedException {
+        for (int round = 0; round < 20 * StressHarness.ROUNDS; round++) {
+            BodyCodec sut = new BodyCodec(new ObjectMapper());
+            ConcurrentMap<String, Set<Object>> seen = new ConcurrentHashMap<>();
+
+            StressHarness.run(StressHarness.THREADS, (thread, random) -> {
+                for (int i = 0; i < 200; i++) {
+                    Class<?> type = TYPES[random.nextInt(TYPES.length)];
+                    BodyCodec.Format format = BodyCodec.Format.values()[random.nextInt(BodyCodec.Format.values().length)];
+                    ObjectReader reader = sut.reader(format, type);
+                    ObjectWriter writer = sut.writer(format, type);
+                    seen.computeIfAbsent("r " + type.getName() + format, k -> Collections.newSetFromMap(new ConcurrentHashMap<>())).add(reader);
+                    seen.computeIfAbsent("w " + type.getName() + format, k -> Collections.newSetFromMap(new ConcurrentHashMap<>())).add(writer);
+                    StressHarness.jitter(random);
+                }
+            });
+
+            for (java.util.Map.Entry<String, Set<Object>> entry : seen.entrySet())
+                assertEquals(entry.getKey() + " was handed out as different instances", 1, entry.getValue().size());
+        }
+    }
+
+    /* the shared mapper and cached readers/writers under concurrent use: nobody reads anybody else's value */
+    @Test
+    public void test_bodyCodec_concurrentRoundTripsDoNotMix() throws Exception {
+        BodyCodec sut = new BodyCodec(new ObjectMapper());
+
+        StressHarness.run(StressHarness.THREADS, (thread, random) -> {
+            for (int i = 0; i < 2000 * StressHarness.ROUNDS; i++) {
+                BodyCodec.Format format = BodyCodec.Format.values()[random.nextInt(BodyCodec.Format.values().length)];
+                String username = "user" + thread + "x" + i;
+                NewLoginRequest read = sut.reader(format, NewLoginRequest.class).readValue(sut.write(format, new NewLoginRequest(username, "pw" + i)));
+                assertEquals(username, read.getUsername());
+                assertEquals("pw" + i, read.getPassword());
+                if (i % 64 == 0) StressHarness.jitter(random);
+            }
+        });
+    }
+
+    /* submits and resolves from every thread, the queue must end up with exactly the unresolved ones, in order */
+    @Test
+    public void test_pendingQueue_noLostUpdates() throws InterruptedException {
+        // Arrange
+        int perThread = 300 * StressHarness.ROUNDS;
+        PendingQueueService sut = new PendingQueueService(Mockito.mock(ReimbursementDAO.class), new SseBroadcaster(1), new ObjectMapper());
+        Set<String> expected = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+        // Act
+        StressHarness.run(StressHarness.THREADS, (thread, random) -> {
+            List<String> mine = new ArrayList<>();
+            for (int i = 0; i < perThread; i++) {
+                String id = thread + "-" + i;
+                sut.onSubmitted(new Reimbursement(id, BigDecimal.TEN, new Timestamp(random.nextInt(1000000)), null, "stress", "author", null,
+                        ReimbursementStatus.PENDING, ReimbursementType.OTHER, 0));
+                mine.add(id);
+
+                if (random.nextBoolean()) {
+                    String resolved = mine.remove(random.nextInt(mine.size()));
+                    sut.onResolved(Collections.singletonList(resolved));
+                }
+
+                /* readers run alongside the writers and must always see a consistent, ordered queue */
+                if (i % 16 == 0) assertOrdered(sut.getPending());
+                StressHarness.jitter(random);
+            }
+            expected.addAll(mine);
+        });
+
+        // Assert
+        List<Reimbursement> pending = sut.getPending();
+        assertOrdered(pending);
+        Set<String> actual = new HashSet<>();
+        for (Reimbursement reimbursement : pending) actual.add(reimbursement.getId());
+        assertEquals(pending.size(), actual.size());
+        assertEquals(expected, actual);
+    }
+
+    private static void assertOrdered(List<Reimbursement> pending) {
+        for (int i = 1; i < pending.size(); i++) {
+            Reimbursement previous = pending.get(i - 1);
+            Reimbursement current = pending.get(i);
+            int bySubmitted = previous.getSubmitted().compareTo(current.getSubmitted());
+            assertTrue("queue out of order at " + i, bySubmitted < 0 || bySubmitted == 0 && previous.getId().compareTo(current.getId()) < 0);
+        }
+    }
+}
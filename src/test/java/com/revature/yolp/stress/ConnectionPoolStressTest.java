@@ -0,0 +1,103 @@
+package com.revature.yolp.stress;
+
+import com.revature.yolp.utils.ConnectionPool;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class ConnectionPoolStressTest {
+    private static final int POOL_SIZE = 4;
+
+    private final AtomicInteger physicalOpen = new AtomicInteger();
+    private final AtomicInteger maxPhysicalOpen = new AtomicInteger();
+    private final AtomicInteger held = new AtomicInteger();
+    private final AtomicInteger maxHeld = new AtomicInteger();
+
+    @Test
+    public void test_getConnection_neverOverAllocates() throws InterruptedException {
+        // Arrange
+        ConnectionPool sut = new ConnectionPool(this::openFake, POOL_SIZE, 10000);
+        AtomicInteger borrowed = new AtomicInteger();
+
+        // Act
+        StressHarness.run(StressHarness.THREADS, (thread, random) -> {
+            for (int i = 0; i < 500 * StressHarness.ROUNDS; i++) {
+                try (Connection con = sut.getConnection()) {
+                    max(maxHeld, held.incrementAndGet());
+                    borrowed.incrementAndGet();
+
+                    /* leave a transaction open now and then, the pool has to clean up after us */
+                    if (random.nextInt(4) == 0) con.setAutoCommit(false);
+                    StressHarness.jitter(random);
+                    held.decrementAndGet();
+                }
+            }
+        });
+
+        // Assert
+        assertTrue("more than " + POOL_SIZE + " connections handed out at once: " + maxHeld.get(), maxHeld.get() <= POOL_SIZE);
+        assertTrue("more than " + POOL_SIZE + " physical connections: " + maxPhysicalOpen.get(), maxPhysicalOpen.get() <= POOL_SIZE);
+        assertEquals(0, sut.getActiveCount());
+        assertEquals(physicalOpen.get(), sut.getOpenCount());
+        assertEquals(sut.getOpenCount(), sut.getIdleCount());
+        assertEquals(StressHarness.THREADS * 500 * StressHarness.ROUNDS, borrowed.get());
+    }
+
+    @Test
+    public void test_getConnection_returnsCleanConnections() throws InterruptedException {
+        ConnectionPool sut = new ConnectionPool(this::openFake, POOL_SIZE, 10000);
+
+        StressHarness.run(StressHarness.THREADS, (thread, random) -> {
+            for (int i = 0; i < 500 * StressHarness.ROUNDS; i++) {
+                try (Connection con = sut.getConnection()) {
+                    assertTrue("a previous borrower's transaction leaked", con.getAutoCommit());
+                    if (random.nextBoolean()) con.setAutoCommit(false);
+                    StressHarness.jitter(random);
+                }
+            }
+        });
+
+        assertEquals(0, sut.getActiveCount());
+    }
+
+    private static void max(AtomicInteger max, int value) {
+        int current;
+        while (value > (current = max.get()) && !max.compareAndSet(current, value)) {
+        }
+    }
+
+    /* a connection that only remembers its autocommit flag, enough for the pool's bookkeeping */
+    private Connection openFake() throws SQLException {
+        max(maxPhysicalOpen, physicalOpen.incrementAndGet());
+        boolean[] autoCommit = {true};
+        boolean[] closed = {false};
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getAutoCommit":
+                    return autoCommit[0];
+                case "setAutoCommit":
+                    autoCommit[0] = (Boolean) args[0];
+                    return null;
+                case "isValid":
+                    return !closed[0];
+                case "isClosed":
+                    return closed[0];
+                case "close":
+                    if (!closed[0]) physicalOpen.decrementAndGet();
+                    closed[0] = true;
+                    return null;
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                default:
+                    return null;
+            }
+        });
+    }
+}
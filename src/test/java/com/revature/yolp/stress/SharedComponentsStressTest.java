@@ -0,0 +1,102 @@
+package com.revature.yolp.stress;
+
+import com.revature.yolp.daos.UserDAO;
+import com.revature.yolp.dtos.responses.Principal;
+import com.revature.yolp.models.ReimbursementStatus;
+import com.revature.yolp.models.Role;
+import com.revature.yolp.services.TokenService;
+import com.revature.yolp.utils.JwtConfig;
+import com.revature.yolp.utils.audit.AuditAction;
+import com.revature.yolp.utils.audit.AuditEntry;
+import com.revature.yolp.utils.audit.AuditJournal;
+import com.revature.yolp.utils.audit.AuditJournalReader;
+import com.revature.yolp.utils.logging.AsyncLogWriter;
+import com.revature.yolp.utils.logging.OverflowPolicy;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+import org.slf4j.event.Level;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+public class SharedComponentsStressTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /* one TokenService serves every jetty thread, tokens must never carry someone else's identity */
+    @Test
+    public void test_tokenService_noCrossTalk() throws InterruptedException {
+        Properties properties = new Properties();
+        properties.setProperty("salt", "c3RyZXNzLXRlc3Qtc2lnbmluZy1rZXktbm90LWZvci1wcm9kdWN0aW9u");
+        TokenService sut = new TokenService(new JwtConfig(properties), new UserDAO());
+
+        StressHarness.run(StressHarness.THREADS, (thread, random) -> {
+            for (int i = 0; i < 300 * StressHarness.ROUNDS; i++) {
+                Principal principal = new Principal(UUID.randomUUID().toString(), "user" + thread + "x" + i, random.nextBoolean() ? Role.DEFAULT : Role.FINANCE_MANAGER);
+                String token = sut.generateToken(principal);
+                StressHarness.jitter(random);
+                Principal verified = sut.extractRequesterDetails(token);
+                assertNotNull(verified);
+                assertEquals(principal.getId(), verified.getId());
+                assertEquals(principal.getUsername(), verified.getUsername());
+                assertEquals(principal.getRole(), verified.getRole());
+            }
+        });
+    }
+
+    /* BLOCK never loses a line, DROP accounts for every line it loses */
+    @Test
+    public void test_asyncLogWriter_accountsForEveryEvent() throws InterruptedException {
+        for (OverflowPolicy policy : OverflowPolicy.values()) {
+            AtomicLong written = new AtomicLong();
+            Logger target = Mockito.mock(Logger.class);
+            Mockito.doAnswer(invocation -> written.incrementAndGet()).when(target).info(Mockito.anyString(), Mockito.<Throwable>any());
+            AsyncLogWriter sut = new AsyncLogWriter(64, policy);
+            AtomicLong accepted = new AtomicLong();
+            int perThread = 2000 * StressHarness.ROUNDS;
+
+            StressHarness.run(StressHarness.THREADS, (thread, random) -> {
+                for (int i = 0; i < perThread; i++) {
+                    if (sut.publish(new AsyncLogWriter.LogEvent(target, Level.INFO, "stress-" + thread, null, "line " + i, null))) accepted.incrementAndGet();
+                    if (i % 32 == 0) StressHarness.jitter(random);
+                }
+            });
+            sut.shutdown();
+
+            long offered = (long) StressHarness.THREADS * perThread;
+            assertEquals(policy + ": written", accepted.get(), written.get());
+            assertEquals(policy + ": accepted + dropped", offered, accepted.get() + sut.getDroppedCount());
+            if (policy == OverflowPolicy.BLOCK) assertEquals(offered, written.get());
+        }
+    }
+
+    /* appends from every thread get unique, gap free sequence numbers, also across segment rotations */
+    @Test
+    public void test_auditJournal_gapFreeSequences() throws InterruptedException, IOException {
+        Path dir = folder.newFolder("audit").toPath();
+        int perThread = 500 * StressHarness.ROUNDS;
+
+        try (AuditJournal sut = new AuditJournal(dir, 64 * 1024, 5)) {
+            StressHarness.run(StressHarness.THREADS, (thread, random) -> {
+                String actor = new UUID(thread, 1).toString();
+                for (int i = 0; i < perThread; i++) {
+                    sut.append(AuditAction.REIMBURSEMENT_RESOLVED, actor, UUID.randomUUID().toString(), ReimbursementStatus.PENDING, ReimbursementStatus.APPROVED);
+                    if (i % 16 == 0) StressHarness.jitter(random);
+                }
+            });
+        }
+
+        List<AuditEntry> entries = new AuditJournalReader(dir).readAll(e -> true);
+        assertEquals((long) StressHarness.THREADS * perThread, entries.size());
+        for (int i = 0; i < entries.size(); i++) assertEquals(i + 1, entries.get(i).getSequence());
+    }
+}
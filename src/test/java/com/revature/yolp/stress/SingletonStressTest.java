@@ -0,0 +1,45 @@
+package com.revature.yolp.stress;
+
+import com.revature.yolp.utils.AppConfig;
+import com.revature.yolp.utils.ConnectionFactory;
+import com.revature.yolp.utils.logging.AsyncLogWriter;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.*;
+
+public class SingletonStressTest {
+    @Test
+    public void test_connectionFactory_exactlyOneInstance() throws InterruptedException {
+        assertSingleInstance(ConnectionFactory::getInstance);
+        assertEquals(0, ConnectionFactory.getInstance().getPool().getActiveCount());
+    }
+
+    @Test
+    public void test_appConfig_exactlyOneInstance() throws InterruptedException {
+        assertSingleInstance(AppConfig::getInstance);
+    }
+
+    @Test
+    public void test_asyncLogWriter_exactlyOneInstance() throws InterruptedException {
+        assertSingleInstance(AsyncLogWriter::getInstance);
+    }
+
+    /* every thread asks for the instance at once (the first race only happens once per jvm, later rounds check publication) */
+    private static void assertSingleInstance(Supplier<?> getInstance) throws InterruptedException {
+        Set<Object> seen = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+        StressHarness.run(StressHarness.THREADS, (thread, random) -> {
+            for (int i = 0; i < 1000 * StressHarness.ROUNDS; i++) {
+                Object instance = getInstance.get();
+                assertNotNull(instance);
+                seen.add(instance);
+                StressHarness.jitter(random);
+            }
+        });
+        assertEquals(1, seen.size());
+    }
+}
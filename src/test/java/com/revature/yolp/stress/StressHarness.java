@@ -0,0 +1,67 @@
+package com.revature.yolp.stress;
+
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/*
+ * purpose of StressHarness is to release many threads on a shared component at the same instant and shake up
+ * their interleaving with random yields and short parks
+ *
+ * every thread gets its own Random derived from one seed, a failure message carries the seed so a run can be repeated:
+ *     mvn test -Dtest=*StressTest -Dstress.seed=<seed>
+ * -Dstress.rounds scales how long every test hammers (1 for mvn test, the soak profile raises it)
+ */
+public class StressHarness {
+    public static final int ROUNDS = Integer.getInteger("stress.rounds", 1);
+    public static final long SEED = Long.getLong("stress.seed", System.nanoTime());
+    public static final int THREADS = Math.max(8, Runtime.getRuntime().availableProcessors() * 4);
+
+    @FunctionalInterface
+    public interface Worker {
+        void run(int thread, Random random) throws Exception;
+    }
+
+    private StressHarness() {
+    }
+
+    /* runs worker on every thread at once and rethrows the first failure */
+    public static void run(int threads, Worker worker) throws InterruptedException {
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch go = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            Random random = new Random(SEED * 31 + t);
+            Thread runner = new Thread(() -> {
+                ready.countDown();
+                try {
+                    go.await();
+                    worker.run(thread, random);
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    done.countDown();
+                }
+            }, "stress-" + t);
+            runner.setDaemon(true);
+            runner.start();
+        }
+
+        ready.await();
+        go.countDown();
+        if (!done.await(60L * ROUNDS, TimeUnit.SECONDS)) throw new AssertionError("Stress threads did not finish (seed " + SEED + ")");
+        if (failure.get() != null) throw new AssertionError("Failed with seed " + SEED + ": " + failure.get(), failure.get());
+    }
+
+    /* nothing most of the time, sometimes a yield, sometimes a park of up to 50us */
+    public static void jitter(Random random) {
+        int dice = random.nextInt(16);
+        if (dice < 3) Thread.yield();
+        else if (dice == 3) LockSupport.parkNanos(1000 + random.nextInt(50000));
+    }
+}
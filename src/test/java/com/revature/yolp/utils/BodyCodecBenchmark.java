@@ -0,0 +1,76 @@
+package com.revature.yolp.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.revature.yolp.dtos.requests.BulkResolveRequest;
+import com.revature.yolp.dtos.requests.ReimbursementVersion;
+import com.revature.yolp.dtos.responses.ReimbursementPage;
+import com.revature.yolp.models.Reimbursement;
+import com.revature.yolp.models.ReimbursementStatus;
+import com.revature.yolp.models.ReimbursementType;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/*
+    Bytes on the wire and cpu time per encode + decode for a history page (response) and a bulk resolve (request):
+    the old path (ObjectMapper.readValue/writeValueAsBytes per call) against BodyCodec in JSON, Smile and CBOR.
+    Not a JUnit test, so it does not run during mvn test. Run it with:
+        mvn test-compile exec:java -Dexec.mainClass=com.revature.yolp.utils.BodyCodecBenchmark -Dexec.classpathScope=test
+ */
+public class BodyCodecBenchmark {
+    private static final int WARMUP_ROUNDS = 20_000;
+    private static final int MEASURED_ROUNDS = 50_000;
+
+    public static void main(String[] args) throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        BodyCodec codec = new BodyCodec(mapper);
+
+        List<Reimbursement> reimbursements = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            reimbursements.add(new Reimbursement(UUID.randomUUID().toString(), new BigDecimal(i + 10 + ".25"), new Timestamp(1667260800000L + i * 3600000L), null,
+                    "client dinner " + i, UUID.randomUUID().toString(), null, ReimbursementStatus.PENDING, ReimbursementType.FOOD, i % 3));
+        }
+        ReimbursementPage page = new ReimbursementPage(reimbursements, "UXwxNjY3MjYwODAwMDAwfGFiYw");
+
+        List<ReimbursementVersion> targets = new ArrayList<>();
+        for (int i = 0; i < 500; i++) targets.add(new ReimbursementVersion(UUID.randomUUID().toString(), i % 4));
+        BulkResolveRequest bulk = new BulkResolveRequest("APPROVED", targets);
+
+        System.out.printf("%-28s %10s %14s%n", "history page (25 rows)", "bytes", "cpu ns/op");
+        report("ObjectMapper (before)", page, mapper, null, null);
+        for (BodyCodec.Format format : BodyCodec.Format.values()) report("BodyCodec " + format, page, mapper, codec, format);
+
+        System.out.printf("%n%-28s %10s %14s%n", "bulk resolve (500 ids)", "bytes", "cpu ns/op");
+        report("ObjectMapper (before)", bulk, mapper, null, null);
+        for (BodyCodec.Format format : BodyCodec.Format.values()) report("BodyCodec " + format, bulk, mapper, codec, format);
+    }
+
+    private static void report(String name, Object value, ObjectMapper mapper, BodyCodec codec, BodyCodec.Format format) throws IOException {
+        byte[] encoded = codec == null ? mapper.writeValueAsBytes(value) : codec.write(format, value);
+        for (int i = 0; i < WARMUP_ROUNDS; i++) roundTrip(value, mapper, codec, format);
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        long start = threads.getCurrentThreadCpuTime();
+        long checksum = 0;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) checksum += roundTrip(value, mapper, codec, format);
+        long cpu = threads.getCurrentThreadCpuTime() - start;
+
+        System.out.printf("%-28s %10d %14d%n", name, encoded.length, cpu / MEASURED_ROUNDS);
+        if (checksum == Long.MIN_VALUE) System.out.println(checksum);
+    }
+
+    private static int roundTrip(Object value, ObjectMapper mapper, BodyCodec codec, BodyCodec.Format format) throws IOException {
+        if (codec == null) {
+            byte[] bytes = mapper.writeValueAsBytes(value);
+            return bytes.length + mapper.readValue(bytes, value.getClass()).hashCode();
+        }
+        byte[] bytes = codec.write(format, value);
+        return bytes.length + codec.reader(format, value.getClass()).readValue(bytes).hashCode();
+    }
+}
@@ -0,0 +1,102 @@
+package com.revature.yolp.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.revature.yolp.dtos.requests.BulkResolveRequest;
+import com.revature.yolp.dtos.requests.NewLoginRequest;
+import com.revature.yolp.dtos.requests.ReimbursementVersion;
+import com.revature.yolp.utils.custom_exceptions.PayloadTooLargeException;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class BodyCodecTest {
+    private final BodyCodec sut = new BodyCodec(new ObjectMapper());
+
+    @Test
+    public void test_negotiate_picksHighestQuality() {
+        assertEquals(BodyCodec.Format.JSON, sut.negotiate(null));
+        assertEquals(BodyCodec.Format.JSON, sut.negotiate("text/html, */*;q=0.8"));
+        assertEquals(BodyCodec.Format.SMILE, sut.negotiate("application/x-jackson-smile"));
+        assertEquals(BodyCodec.Format.CBOR, sut.negotiate("application/json;q=0.5, application/cbor"));
+        assertEquals(BodyCodec.Format.SMILE, sut.negotiate("application/x-jackson-smile, application/cbor"));
+        assertEquals(BodyCodec.Format.JSON, sut.negotiate("application/xml"));
+    }
+
+    @Test
+    public void test_formatOf_ignoresParameters() {
+        assertEquals(BodyCodec.Format.JSON, sut.formatOf("application/json; charset=utf-8"));
+        assertEquals(BodyCodec.Format.CBOR, sut.formatOf("Application/CBOR"));
+        assertEquals(BodyCodec.Format.JSON, sut.formatOf(null));
+    }
+
+    @Test
+    public void test_read_roundTripsEveryFormat() throws IOException {
+        for (BodyCodec.Format format : BodyCodec.Format.values()) {
+            // Arrange
+            byte[] body = sut.write(format, new NewLoginRequest("tester001", "passw0rd"));
+
+            // Act
+            NewLoginRequest req = sut.read(new ByteArrayInputStream(body), body.length, format.getMediaType(), NewLoginRequest.class, BodyCodec.DEFAULT_MAX_BODY_BYTES);
+
+            // Assert
+            assertEquals(format.name(), "tester001", req.getUsername());
+            assertEquals(format.name(), "passw0rd", req.getPassword());
+        }
+    }
+
+    @Test
+    public void test_read_binaryFormatsAreSmaller() throws IOException {
+        List<ReimbursementVersion> targets = new ArrayList<>();
+        for (int i = 0; i < 100; i++) targets.add(new ReimbursementVersion("7c1f0e3a-41d8-4e9a-a57f-0f7f2b1d9c" + (10 + i), i));
+        BulkResolveRequest req = new BulkResolveRequest("APPROVED", targets);
+
+        int json = sut.write(BodyCodec.Format.JSON, req).length;
+        assertTrue(sut.write(BodyCodec.Format.SMILE, req).length < json);
+        assertTrue(sut.write(BodyCodec.Format.CBOR, req).length < json);
+    }
+
+    @Test(expected = PayloadTooLargeException.class)
+    public void test_read_givenContentLengthOverLimit() throws IOException {
+        byte[] body = sut.write(BodyCodec.Format.JSON, new NewLoginRequest("tester001", "passw0rd"));
+
+        sut.read(new ByteArrayInputStream(body), body.length, "application/json", NewLoginRequest.class, 16);
+    }
+
+    @Test(expected = PayloadTooLargeException.class)
+    public void test_read_givenChunkedBodyOverLimit() throws IOException {
+        byte[] body = sut.write(BodyCodec.Format.JSON, new NewLoginRequest("tester001", "passw0rd"));
+
+        sut.read(new ByteArrayInputStream(body), -1, "application/json", NewLoginRequest.class, 16);
+    }
+
+    @Test
+    public void test_read_givenChunkedBodyOverLimitMidParse() throws IOException {
+        for (BodyCodec.Format format : BodyCodec.Format.values()) {
+            // Arrange
+            List<ReimbursementVersion> targets = new ArrayList<>();
+            for (int i = 0; i < 5000; i++) targets.add(new ReimbursementVersion("7c1f0e3a-41d8-4e9a-a57f-0f7f2b1d" + (1000 + i), 0));
+            byte[] body = sut.write(format, new BulkResolveRequest("APPROVED", targets));
+
+            // Act
+            try {
+                sut.read(new ByteArrayInputStream(body), -1, format.getMediaType(), BulkResolveRequest.class, BodyCodec.DEFAULT_MAX_BODY_BYTES);
+                fail(format.name() + " body of " + body.length + " bytes was read");
+            } catch (PayloadTooLargeException e) {
+                // Assert
+                assertTrue(body.length > BodyCodec.DEFAULT_MAX_BODY_BYTES);
+            }
+        }
+    }
+
+    @Test
+    public void test_reader_isCachedPerTypeAndFormat() {
+        assertSame(sut.reader(BodyCodec.Format.SMILE, NewLoginRequest.class), sut.reader(BodyCodec.Format.SMILE, NewLoginRequest.class));
+        assertNotSame(sut.reader(BodyCodec.Format.JSON, NewLoginRequest.class), sut.reader(BodyCodec.Format.CBOR, NewLoginRequest.class));
+        assertSame(sut.writer(BodyCodec.Format.CBOR, NewLoginRequest.class), sut.writer(BodyCodec.Format.CBOR, NewLoginRequest.class));
+    }
+}
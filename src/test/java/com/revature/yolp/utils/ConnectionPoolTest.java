@@ -0,0 +1,109 @@
+package com.revature.yolp.utils;
+
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class ConnectionPoolTest {
+    private final AtomicInteger opened = new AtomicInteger();
+
+    private ConnectionPool pool(int size, long timeoutMillis) {
+        String url = "jdbc:h2:mem:pool" + System.nanoTime() + ";DB_CLOSE_DELAY=-1";
+        return new ConnectionPool(() -> {
+            opened.incrementAndGet();
+            return DriverManager.getConnection(url, "sa", "");
+        }, size, timeoutMillis);
+    }
+
+    @Test
+    public void test_getConnection_reusesPhysicalConnection() throws SQLException {
+        // Arrange
+        ConnectionPool sut = pool(2, 1000);
+
+        // Act
+        try (Connection con = sut.getConnection()) {
+            con.prepareStatement("SELECT 1").executeQuery();
+        }
+        try (Connection con = sut.getConnection()) {
+            con.prepareStatement("SELECT 1").executeQuery();
+        }
+
+        // Assert
+        assertEquals(1, opened.get());
+        assertEquals(1, sut.getOpenCount());
+        assertEquals(1, sut.getIdleCount());
+        assertEquals(0, sut.getActiveCount());
+    }
+
+    @Test
+    public void test_getConnection_timesOutWhenExhausted() throws SQLException {
+        // Arrange
+        ConnectionPool sut = pool(1, 50);
+
+        try (Connection held = sut.getConnection()) {
+            // Act
+            try {
+                sut.getConnection();
+                fail("pool handed out more connections than its size");
+            } catch (SQLException expected) {
+                // Assert
+                assertEquals(1, sut.getActiveCount());
+            }
+        }
+        assertEquals(0, sut.getActiveCount());
+    }
+
+    @Test
+    public void test_close_resetsConnectionAndClosesStatements() throws SQLException {
+        // Arrange
+        ConnectionPool sut = pool(1, 1000);
+        PreparedStatement leaked;
+        try (Connection con = sut.getConnection()) {
+            con.prepareStatement("CREATE TABLE t (id INT)").executeUpdate();
+            con.setAutoCommit(false);
+            con.prepareStatement("INSERT INTO t VALUES (1)").executeUpdate();
+            leaked = con.prepareStatement("SELECT id FROM t");
+        }
+
+        // Act
+        Connection reused = sut.getConnection();
+
+        // Assert
+        assertTrue(leaked.isClosed());
+        assertTrue(reused.getAutoCommit());
+        assertFalse(reused.prepareStatement("SELECT id FROM t").executeQuery().next());
+        reused.close();
+        assertEquals(1, opened.get());
+    }
+
+    @Test(expected = SQLException.class)
+    public void test_close_proxyIsUnusableAfterward() throws SQLException {
+        ConnectionPool sut = pool(1, 1000);
+        Connection con = sut.getConnection();
+        con.close();
+        con.close();
+
+        con.prepareStatement("SELECT 1");
+    }
+
+    @Test
+    public void test_prime_opensConnectionsUpFront() throws SQLException {
+        // Arrange
+        ConnectionPool sut = pool(4, 1000);
+
+        // Act
+        int idle = sut.prime(10);
+
+        // Assert
+        assertEquals(4, idle);
+        assertEquals(4, opened.get());
+        sut.getConnection().close();
+        assertEquals(4, opened.get());
+    }
+}
@@ -0,0 +1,32 @@
+package com.revature.yolp.utils;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.junit.Assert.*;
+
+public class CsvWriterTest {
+    @Test
+    public void test_writeRow_quotesAndEscapes() throws IOException {
+        // Arrange
+        StringWriter out = new StringWriter();
+        CsvWriter sut = new CsvWriter(out);
+
+        // Act
+        sut.writeRow("plain", "a,b", "say \"hi\"", "two\nlines", null, 42, "-12.50");
+
+        // Assert
+        assertEquals("plain,\"a,b\",\"say \"\"hi\"\"\",\"two\nlines\",,42,-12.50\r\n", out.toString());
+    }
+
+    @Test
+    public void test_writeRow_neutralizesFormulas() throws IOException {
+        StringWriter out = new StringWriter();
+
+        new CsvWriter(out).writeRow("=HYPERLINK(\"http://evil\")", "@SUM(A1)");
+
+        assertEquals("\"'=HYPERLINK(\"\"http://evil\"\")\",'@SUM(A1)\r\n", out.toString());
+    }
+}
@@ -0,0 +1,151 @@
+package com.revature.yolp.utils;
+
+import com.revature.yolp.utils.custom_exceptions.PayloadTooLargeException;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class ReceiptStoreTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private ReceiptStore sut;
+
+    @Before
+    public void init() throws IOException {
+        sut = new ReceiptStore(folder.newFolder("receipts").toPath());
+    }
+
+    @Test
+    public void test_store_hashesAndDeduplicates() throws IOException {
+        // Arrange
+        byte[] bytes = new byte[200 * 1024];
+        new Random(7).nextBytes(bytes);
+
+        // Act
+        ReceiptStore.StoredFile first = sut.store(new ByteArrayInputStream(bytes), bytes.length);
+        ReceiptStore.StoredFile second = sut.store(new ByteArrayInputStream(bytes), bytes.length);
+
+        // Assert
+        assertEquals(bytes.length, first.getSize());
+        assertFalse(first.isDuplicate());
+        assertTrue(second.isDuplicate());
+        assertEquals(first.getHash(), second.getHash());
+        assertArrayEquals(bytes, Files.readAllBytes(sut.resolve(first.getHash())));
+        try (Stream<Path> leftovers = Files.list(sut.resolve(first.getHash()).getParent().getParent().resolve("tmp"))) {
+            assertEquals(0, leftovers.count());
+        }
+    }
+
+    @Test
+    public void test_store_concurrentSameBytesCreateOneFile() throws Exception {
+        // Arrange
+        byte[] bytes = new byte[300 * 1024];
+        new Random(11).nextBytes(bytes);
+        int uploads = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(uploads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<ReceiptStore.StoredFile>> results = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < uploads; i++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                return sut.store(new ByteArrayInputStream(bytes), bytes.length);
+            }));
+        }
+        start.countDown();
+        int created = 0;
+        for (Future<ReceiptStore.StoredFile> result : results) {
+            if (!result.get(10, TimeUnit.SECONDS).isDuplicate()) created++;
+        }
+        pool.shutdown();
+
+        // Assert
+        assertEquals(1, created);
+        assertArrayEquals(bytes, Files.readAllBytes(sut.resolve(results.get(0).get().getHash())));
+    }
+
+    @Test
+    public void test_store_knownSha256() throws IOException {
+        ReceiptStore.StoredFile stored = sut.store(new ByteArrayInputStream("abc".getBytes(StandardCharsets.UTF_8)), 10);
+
+        assertEquals("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad", stored.getHash());
+    }
+
+    @Test(expected = PayloadTooLargeException.class)
+    public void test_store_givenOversizedUpload() throws IOException {
+        sut.store(new ByteArrayInputStream(new byte[1025]), 1024);
+    }
+
+    @Test
+    public void test_open_transfersStoredBytes() throws IOException {
+        // Arrange
+        byte[] bytes = "receipt".getBytes(StandardCharsets.UTF_8);
+        String hash = sut.store(new ByteArrayInputStream(bytes), bytes.length).getHash();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        try (FileChannel file = sut.open(hash)) {
+            file.transferTo(2, 3, Channels.newChannel(out));
+        }
+
+        // Assert
+        assertEquals("cei", new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_resolve_givenPathTraversal() {
+        sut.resolve("../../etc/passwd");
+    }
+
+    @Test
+    public void test_byteRange_parse() {
+        assertEquals(0, ByteRange.parse("bytes=0-499", 1000).getStart());
+        assertEquals(500, ByteRange.parse("bytes=0-499", 1000).getLength());
+        assertEquals(999, ByteRange.parse("bytes=500-", 1000).getEnd());
+        assertEquals(900, ByteRange.parse("bytes=-100", 1000).getStart());
+        assertEquals(999, ByteRange.parse("bytes=900-5000", 1000).getEnd());
+        assertEquals("bytes 0-9/1000", ByteRange.parse("bytes=0-9", 1000).toContentRange(1000));
+        assertNull(ByteRange.parse(null, 1000));
+        assertNull(ByteRange.parse("bytes=0-1,5-6", 1000));
+    }
+
+    @Test
+    public void test_entityTags_noneMatchHits() {
+        String etag = "\"abc\"";
+        assertTrue(EntityTags.noneMatchHits("\"abc\"", etag));
+        assertTrue(EntityTags.noneMatchHits("\"xyz\", \"abc\"", etag));
+        assertTrue(EntityTags.noneMatchHits("W/\"abc\"", etag));
+        assertTrue(EntityTags.noneMatchHits("*", etag));
+        assertFalse(EntityTags.noneMatchHits("\"xyz\",W/\"ab\"", etag));
+        assertFalse(EntityTags.noneMatchHits("abc", etag));
+        assertFalse(EntityTags.noneMatchHits(null, etag));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void test_byteRange_givenUnsatisfiableRange() {
+        ByteRange.parse("bytes=1000-", 1000);
+    }
+}
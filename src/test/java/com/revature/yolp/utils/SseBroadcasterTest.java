@@ -0,0 +1,154 @@
+package com.revature.yolp.utils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class SseBroadcasterTest {
+    private SseBroadcaster sut;
+
+    @Before
+    public void init() {
+        sut = new SseBroadcaster(2, 500);
+    }
+
+    @After
+    public void cleanup() {
+        sut.shutdown();
+    }
+
+    /* collects events, optionally blocking on the first one to simulate a stalled socket */
+    private static class RecordingSink implements SseBroadcaster.EventSink {
+        private final List<String> events = new CopyOnWriteArrayList<>();
+        private final CountDownLatch received;
+        private final CountDownLatch unblock;
+        private final CountDownLatch closed = new CountDownLatch(1);
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private volatile boolean aborted;
+
+        private RecordingSink(int expected, boolean stalled) {
+            this.received = new CountDownLatch(expected);
+            this.unblock = new CountDownLatch(stalled ? 1 : 0);
+        }
+
+        @Override
+        public void send(String event, String data) {
+            sending.countDown();
+            try {
+                unblock.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (aborted) throw new IllegalStateException("connection aborted");
+            events.add(event + ":" + data);
+            received.countDown();
+        }
+
+        @Override
+        public void comment(String comment) {
+        }
+
+        @Override
+        public void close() {
+            closed.countDown();
+        }
+
+        @Override
+        public void abort() {
+            aborted = true;
+            unblock.countDown();
+        }
+    }
+
+    @Test
+    public void test_publish_deliversSnapshotThenDeltasInOrder() throws InterruptedException {
+        // Arrange
+        RecordingSink sink = new RecordingSink(101, false);
+        sut.subscribe(sink, "snapshot", "[]");
+
+        // Act
+        for (int i = 0; i < 100; i++) sut.publish("added", String.valueOf(i));
+
+        // Assert
+        assertTrue(sink.received.await(5, TimeUnit.SECONDS));
+        assertEquals("snapshot:[]", sink.events.get(0));
+        for (int i = 0; i < 100; i++) assertEquals("added:" + i, sink.events.get(i + 1));
+    }
+
+    @Test
+    public void test_publish_doesNotBlockOnStalledSubscriber() throws InterruptedException {
+        // Arrange
+        int events = SseBroadcaster.MAX_QUEUED_EVENTS + 50;
+        RecordingSink stalled = new RecordingSink(1, true);
+        RecordingSink healthy = new RecordingSink(events + 1, false);
+        sut.subscribe(stalled, "snapshot", "[]");
+        sut.subscribe(healthy, "snapshot", "[]");
+
+        // Act (in batches the healthy subscriber can keep up with, the stalled one never drains)
+        long publishNanos = 0;
+        for (int i = 0; i < events; i++) {
+            long start = System.nanoTime();
+            sut.publish("added", String.valueOf(i));
+            publishNanos += System.nanoTime() - start;
+            if (i % 50 == 49) awaitReceived(healthy, i + 2);
+        }
+
+        // Assert
+        long publishMillis = TimeUnit.NANOSECONDS.toMillis(publishNanos);
+        assertTrue("publish took " + publishMillis + "ms", publishMillis < 1000);
+        assertTrue(stalled.closed.await(5, TimeUnit.SECONDS));
+        assertTrue(healthy.received.await(5, TimeUnit.SECONDS));
+        assertEquals(1, sut.getSubscriberCount());
+        stalled.unblock.countDown();
+    }
+
+    private static void awaitReceived(RecordingSink sink, int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (sink.events.size() < count && System.currentTimeMillis() < deadline) Thread.sleep(1);
+    }
+
+    @Test
+    public void test_publish_stalledSubscribersDoNotHoldEveryWriter() throws InterruptedException {
+        // Arrange (as many stalled subscribers as writer threads)
+        RecordingSink stalled1 = new RecordingSink(1, true);
+        RecordingSink stalled2 = new RecordingSink(1, true);
+        sut.subscribe(stalled1, "snapshot", "[]");
+        sut.subscribe(stalled2, "snapshot", "[]");
+        assertTrue(stalled1.sending.await(5, TimeUnit.SECONDS));
+        assertTrue(stalled2.sending.await(5, TimeUnit.SECONDS));
+        RecordingSink healthy = new RecordingSink(2, false);
+        sut.subscribe(healthy, "snapshot", "[]");
+
+        // Act
+        sut.publish("added", "1");
+
+        // Assert
+        assertTrue(healthy.received.await(5, TimeUnit.SECONDS));
+        assertTrue(stalled1.closed.await(5, TimeUnit.SECONDS));
+        assertTrue(stalled2.closed.await(5, TimeUnit.SECONDS));
+        assertEquals(1, sut.getSubscriberCount());
+    }
+
+    @Test
+    public void test_disconnect_waitsForWriteInProgress() throws InterruptedException {
+        // Arrange
+        RecordingSink stalled = new RecordingSink(1, true);
+        sut.subscribe(stalled, "snapshot", "[]");
+        assertTrue(stalled.sending.await(5, TimeUnit.SECONDS));
+
+        // Act (overflow the queue while the snapshot write is blocked)
+        for (int i = 0; i <= SseBroadcaster.MAX_QUEUED_EVENTS; i++) sut.publish("added", String.valueOf(i));
+
+        // Assert (not closed under the blocked send, only once the watchdog aborted it)
+        assertFalse(stalled.closed.await(100, TimeUnit.MILLISECONDS));
+        assertTrue(stalled.closed.await(5, TimeUnit.SECONDS));
+        assertTrue(stalled.aborted);
+    }
+}
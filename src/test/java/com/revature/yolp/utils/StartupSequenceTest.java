@@ -0,0 +1,118 @@
+package com.revature.yolp.utils;
+
+import com.revature.yolp.dtos.responses.StartupPhase;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.Assert.*;
+
+public class StartupSequenceTest {
+    @Test
+    public void test_warmUp_becomesReadyAfterQueuedPhases() {
+        // Arrange
+        StartupSequence sut = new StartupSequence();
+        StringBuilder order = new StringBuilder();
+        sut.time("routes", () -> order.append("routes,"));
+        sut.then("pool", () -> order.append("pool,"));
+        sut.then("jit", () -> order.append("jit"));
+        assertFalse(sut.isReady());
+
+        // Act
+        boolean ready = sut.warmUp();
+
+        // Assert
+        assertTrue(ready);
+        assertTrue(sut.isReady());
+        assertEquals("routes,pool,jit", order.toString());
+        List<StartupPhase> phases = sut.getPhases();
+        assertEquals(3, phases.size());
+        assertEquals("pool", phases.get(1).getName());
+        assertNull(phases.get(1).getError());
+    }
+
+    @Test
+    public void test_warmUp_staysUnavailableWhenAPhaseFails() {
+        // Arrange
+        StartupSequence sut = new StartupSequence(60_000, 60_000, 120_000);
+        sut.then("pool", () -> {
+            throw new IllegalStateException("db is down");
+        });
+        sut.then("jit", () -> {
+        });
+
+        // Act
+        boolean ready = sut.warmUp();
+
+        // Assert
+        assertFalse(ready);
+        assertFalse(sut.isReady());
+        assertTrue(sut.getPhases().get(0).getError().contains("db is down"));
+        assertEquals(2, sut.getPhases().size());
+        assertTrue(sut.isLive());
+    }
+
+    @Test
+    public void test_warmUp_retriesFailedPhaseUntilItSucceeds() throws InterruptedException {
+        // Arrange
+        StartupSequence sut = new StartupSequence(10, 20, 5_000);
+        AtomicInteger attempts = new AtomicInteger();
+        sut.then("pool", () -> {
+            if (attempts.incrementAndGet() < 3) throw new IllegalStateException("db is down");
+        });
+
+        // Act
+        boolean ready = sut.warmUp();
+        awaitTrue(sut::isReady);
+
+        // Assert
+        assertFalse(ready);
+        assertTrue(sut.isLive());
+        assertEquals(3, attempts.get());
+        List<StartupPhase> phases = sut.getPhases();
+        assertEquals(3, phases.size());
+        assertNotNull(phases.get(1).getError());
+        assertNull(phases.get(2).getError());
+    }
+
+    @Test
+    public void test_warmUp_failsLivenessAfterDeadline() throws InterruptedException {
+        // Arrange
+        StartupSequence sut = new StartupSequence(10, 20, 200);
+        sut.then("pool", () -> {
+            throw new IllegalStateException("db is down");
+        });
+
+        // Act
+        sut.warmUp();
+        awaitTrue(() -> !sut.isLive());
+
+        // Assert
+        assertFalse(sut.isReady());
+        assertTrue(sut.getPhases().size() > 1);
+    }
+
+    @Test
+    public void test_time_failedPhaseFailsLivenessRightAway() {
+        // Arrange
+        StartupSequence sut = new StartupSequence();
+        sut.time("server", () -> {
+            throw new IllegalStateException("port in use");
+        });
+
+        // Act
+        boolean ready = sut.warmUp();
+
+        // Assert
+        assertFalse(ready);
+        assertFalse(sut.isLive());
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) Thread.sleep(5);
+        assertTrue(condition.getAsBoolean());
+    }
+}
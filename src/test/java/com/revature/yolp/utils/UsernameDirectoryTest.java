@@ -0,0 +1,118 @@
+package com.revature.yolp.utils;
+
+import com.revature.yolp.daos.UserDAO;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+
+import static org.junit.Assert.*;
+
+public class UsernameDirectoryTest {
+    @Test
+    public void test_put_keepsFirstIdForUsername() {
+        // Arrange
+        UsernameDirectory sut = new UsernameDirectory(16);
+        UUID first = UUID.randomUUID();
+
+        // Act
+        boolean added = sut.put("bduong0929", first);
+        boolean duplicate = sut.put("bduong0929", UUID.randomUUID());
+
+        // Assert
+        assertTrue(added);
+        assertFalse(duplicate);
+        assertEquals(first, sut.get("bduong0929"));
+        assertNull(sut.get("bduong092"));
+        assertFalse(sut.contains("Bduong0929"));
+        assertEquals(1, sut.size());
+    }
+
+    @Test
+    public void test_put_growsPastInitialCapacity() {
+        // Arrange
+        UsernameDirectory sut = new UsernameDirectory(16, 2);
+        UUID[] ids = new UUID[100000];
+
+        // Act
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = UUID.randomUUID();
+            assertTrue(sut.put("user" + i, ids[i]));
+        }
+
+        // Assert
+        assertEquals(ids.length, sut.size());
+        for (int i = 0; i < ids.length; i++) assertEquals(ids[i], sut.get("user" + i));
+    }
+
+    @Test
+    public void test_get_comparesUtf8Bytes() {
+        // Arrange
+        UsernameDirectory sut = new UsernameDirectory(16);
+        UUID id = UUID.randomUUID();
+
+        // Act
+        sut.put("josé.北京😀", id);
+
+        // Assert
+        assertEquals(id, sut.get("josé.北京😀"));
+        assertNull(sut.get("jose.北京😀"));
+    }
+
+    @Test
+    public void test_loadFrom_streamsUsersFromDao() {
+        // Arrange
+        UserDAO mockUserDao = Mockito.mock(UserDAO.class);
+        String id = UUID.randomUUID().toString();
+        Mockito.doAnswer(invocation -> {
+            BiConsumer<String, String> consumer = invocation.getArgument(0);
+            consumer.accept("bduong0929", id);
+            return null;
+        }).when(mockUserDao).forEachUsernameAndId(Mockito.any());
+        UsernameDirectory sut = new UsernameDirectory(16);
+
+        // Act
+        sut.loadFrom(mockUserDao);
+
+        // Assert
+        assertEquals(UUID.fromString(id), sut.get("bduong0929"));
+    }
+
+    @Test
+    public void test_get_readersSeeEveryEntryWhileTablesGrow() throws Exception {
+        // Arrange
+        UsernameDirectory sut = new UsernameDirectory(16, 1);
+        int seeded = 1000;
+        for (int i = 0; i < seeded; i++) sut.put("seeded" + i, new UUID(0, i));
+        ExecutorService readers = Executors.newFixedThreadPool(4);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        CountDownLatch started = new CountDownLatch(4);
+
+        // Act
+        Future<?>[] results = new Future<?>[4];
+        for (int r = 0; r < results.length; r++) {
+            results[r] = readers.submit(() -> {
+                started.countDown();
+                while (writing.get()) {
+                    for (int i = 0; i < seeded; i++) assertEquals(new UUID(0, i), sut.get("seeded" + i));
+                }
+                return null;
+            });
+        }
+        started.await();
+        for (int i = 0; i < 200000; i++) sut.put("written" + i, new UUID(1, i));
+        writing.set(false);
+
+        // Assert
+        for (Future<?> result : results) result.get(10, TimeUnit.SECONDS);
+        readers.shutdown();
+        assertEquals(seeded + 200000, sut.size());
+    }
+}
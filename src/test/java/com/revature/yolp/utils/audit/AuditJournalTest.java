@@ -0,0 +1,117 @@
+package com.revature.yolp.utils.audit;
+
+import com.revature.yolp.models.ReimbursementStatus;
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+public class AuditJournalTest {
+    private static final String ACTOR = "6b0c1f0e-3a41-4d8e-9a57-0f7f2b1d9c11";
+    private static final String TARGET = "0d5e3c8a-77b2-4f0e-8f7e-1c2d3e4f5a6b";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void test_append_replaysInOrder() throws IOException {
+        // Arrange
+        Path dir = folder.newFolder("audit").toPath();
+
+        // Act
+        try (AuditJournal sut = new AuditJournal(dir, 4096, 60000)) {
+            sut.append(AuditAction.REIMBURSEMENT_SUBMITTED, ACTOR, TARGET, null, ReimbursementStatus.PENDING);
+            sut.append(AuditAction.REIMBURSEMENT_RESOLVED, TARGET, ACTOR, ReimbursementStatus.PENDING, ReimbursementStatus.DENIED);
+        }
+        List<AuditEntry> entries = new AuditJournalReader(dir).readAll(e -> true);
+
+        // Assert
+        assertEquals(2, entries.size());
+        assertEquals(1, entries.get(0).getSequence());
+        assertEquals(AuditAction.REIMBURSEMENT_SUBMITTED, entries.get(0).getAction());
+        assertEquals(UUID.fromString(ACTOR), entries.get(0).getActorId());
+        assertEquals(UUID.fromString(TARGET), entries.get(0).getTargetId());
+        assertNull(entries.get(0).getFromStatus());
+        assertEquals(ReimbursementStatus.PENDING, entries.get(0).getToStatus());
+        assertEquals(2, entries.get(1).getSequence());
+        assertEquals(ReimbursementStatus.DENIED, entries.get(1).getToStatus());
+    }
+
+    @Test
+    public void test_append_rotatesAndResumesAfterReopen() throws IOException {
+        // Arrange
+        Path dir = folder.newFolder("audit").toPath();
+        int segmentSize = AuditJournal.HEADER_SIZE + 4 * AuditJournal.RECORD_SIZE;
+
+        // Act
+        try (AuditJournal sut = new AuditJournal(dir, segmentSize, 60000)) {
+            for (int i = 0; i < 10; i++) sut.append(AuditAction.REIMBURSEMENT_SUBMITTED, ACTOR, TARGET, null, ReimbursementStatus.PENDING);
+        }
+        try (AuditJournal sut = new AuditJournal(dir, segmentSize, 60000)) {
+            sut.append(AuditAction.REIMBURSEMENT_RESOLVED, ACTOR, TARGET, ReimbursementStatus.PENDING, ReimbursementStatus.APPROVED);
+        }
+        List<AuditEntry> entries = new AuditJournalReader(dir).readAll(e -> true);
+
+        // Assert
+        assertEquals(3, AuditJournalReader.listSegments(dir).size());
+        assertEquals(11, entries.size());
+        for (int i = 0; i < entries.size(); i++) assertEquals(i + 1, entries.get(i).getSequence());
+        assertEquals(AuditAction.REIMBURSEMENT_RESOLVED, entries.get(10).getAction());
+    }
+
+    @Test
+    public void test_replay_filtersEntries() throws IOException {
+        // Arrange
+        Path dir = folder.newFolder("audit").toPath();
+        try (AuditJournal sut = new AuditJournal(dir, 4096, 60000)) {
+            sut.append(AuditAction.REIMBURSEMENT_SUBMITTED, ACTOR, TARGET, null, ReimbursementStatus.PENDING);
+            sut.append(AuditAction.REIMBURSEMENT_SUBMITTED, TARGET, ACTOR, null, ReimbursementStatus.PENDING);
+            sut.append(AuditAction.REIMBURSEMENT_RESOLVED, ACTOR, TARGET, ReimbursementStatus.PENDING, ReimbursementStatus.APPROVED);
+        }
+
+        // Act
+        List<AuditEntry> byActor = new AuditJournalReader(dir).readAll(e -> UUID.fromString(ACTOR).equals(e.getActorId()));
+        List<AuditEntry> resolved = new AuditJournalReader(dir).readAll(e -> e.getAction() == AuditAction.REIMBURSEMENT_RESOLVED);
+
+        // Assert
+        assertEquals(2, byActor.size());
+        assertEquals(1, resolved.size());
+        assertEquals(3, resolved.get(0).getSequence());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_append_givenMalformedId() throws IOException {
+        try (AuditJournal sut = new AuditJournal(folder.newFolder("audit").toPath(), 4096, 60000)) {
+            sut.append(AuditAction.REIMBURSEMENT_SUBMITTED, "not-a-uuid", TARGET, null, ReimbursementStatus.PENDING);
+        }
+    }
+
+    @Test
+    public void test_append_doesNotAllocate() throws IOException {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(threads instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+        Assume.assumeTrue(allocations.isThreadAllocatedMemorySupported() && allocations.isThreadAllocatedMemoryEnabled());
+
+        try (AuditJournal sut = new AuditJournal(folder.newFolder("audit").toPath(), 1024 * 1024, 60000)) {
+            /* warm up so the measured loop runs compiled code */
+            for (int i = 0; i < 5000; i++) sut.append(AuditAction.REIMBURSEMENT_SUBMITTED, ACTOR, TARGET, null, ReimbursementStatus.PENDING);
+
+            long thread = Thread.currentThread().getId();
+            long before = allocations.getThreadAllocatedBytes(thread);
+            for (int i = 0; i < 5000; i++) sut.append(AuditAction.REIMBURSEMENT_RESOLVED, ACTOR, TARGET, ReimbursementStatus.PENDING, ReimbursementStatus.APPROVED);
+            long allocated = allocations.getThreadAllocatedBytes(thread) - before;
+
+            /* a single allocation per append would already be 5000 * 16 bytes */
+            assertTrue("appends allocated " + allocated + " bytes", allocated < 4096);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.revature.yolp.utils.logging;
+
+import org.junit.After;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+import org.slf4j.event.Level;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.*;
+
+public class AsyncLogWriterTest {
+    private final Logger mockTarget = Mockito.mock(Logger.class);
+    private AsyncLogWriter sut;
+
+    @After
+    public void cleanup() {
+        CorrelationId.clear();
+        if (sut != null) sut.shutdown();
+    }
+
+    @Test
+    public void test_publish_prefixesThreadAndCorrelationId() {
+        // Arrange
+        sut = new AsyncLogWriter(64, OverflowPolicy.DROP);
+        String id = CorrelationId.begin("req-42");
+
+        // Act
+        sut.publish(new AsyncLogWriter.LogEvent(mockTarget, Level.INFO, "worker-1", id, "Login successful...", null));
+        sut.shutdown();
+
+        // Assert
+        Mockito.verify(mockTarget, Mockito.times(1)).info("[worker-1] [req-42] Login successful...", (Throwable) null);
+    }
+
+    @Test
+    public void test_publish_dropsWhenWriterFallsBehind() throws InterruptedException {
+        // Arrange
+        sut = new AsyncLogWriter(4, OverflowPolicy.DROP);
+        CountDownLatch stalled = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Mockito.doAnswer(invocation -> {
+            stalled.countDown();
+            release.await();
+            return null;
+        }).when(mockTarget).warn(Mockito.anyString(), Mockito.<Throwable>any());
+        sut.publish(new AsyncLogWriter.LogEvent(mockTarget, Level.WARN, "worker-1", null, "stall", null));
+        assertTrue(stalled.await(5, TimeUnit.SECONDS));
+
+        // Act
+        int accepted = 0;
+        for (int i = 0; i < 10; i++) {
+            if (sut.publish(new AsyncLogWriter.LogEvent(mockTarget, Level.INFO, "worker-1", null, "line " + i, null))) accepted++;
+        }
+        release.countDown();
+        sut.shutdown();
+
+        // Assert
+        assertEquals(4, accepted);
+        assertEquals(6, sut.getDroppedCount());
+        Mockito.verify(mockTarget, Mockito.times(4)).info(Mockito.startsWith("[worker-1] line "), Mockito.<Throwable>any());
+    }
+
+    @Test
+    public void test_publish_blocksUntilWriterCatchesUp() throws InterruptedException {
+        // Arrange
+        sut = new AsyncLogWriter(4, OverflowPolicy.BLOCK);
+        CountDownLatch stalled = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Mockito.doAnswer(invocation -> {
+            stalled.countDown();
+            release.await();
+            return null;
+        }).when(mockTarget).warn(Mockito.anyString(), Mockito.<Throwable>any());
+        sut.publish(new AsyncLogWriter.LogEvent(mockTarget, Level.WARN, "worker-1", null, "stall", null));
+        assertTrue(stalled.await(5, TimeUnit.SECONDS));
+
+        // Act
+        AtomicBoolean finished = new AtomicBoolean();
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < 10; i++) sut.publish(new AsyncLogWriter.LogEvent(mockTarget, Level.INFO, "worker-1", null, "line " + i, null));
+            finished.set(true);
+        });
+        producer.start();
+        producer.join(200);
+        boolean finishedWhileStalled = finished.get();
+        release.countDown();
+        producer.join(5000);
+        sut.shutdown();
+
+        // Assert
+        assertFalse(finishedWhileStalled);
+        assertTrue(finished.get());
+        assertEquals(0, sut.getDroppedCount());
+        Mockito.verify(mockTarget, Mockito.times(10)).info(Mockito.startsWith("[worker-1] line "), Mockito.<Throwable>any());
+    }
+
+    @Test
+    public void test_begin_replacesUnsafeIncomingId() {
+        assertEquals("gateway-7f3a", CorrelationId.begin("gateway-7f3a"));
+        String generated = CorrelationId.begin("bad id\r\ninjected: header");
+        assertNotEquals("bad id\r\ninjected: header", generated);
+        assertEquals(36, generated.length());
+        assertEquals(generated, CorrelationId.get());
+    }
+}
@@ -0,0 +1,77 @@
+package com.revature.yolp.utils.logging;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class RingBufferTest {
+    @Test
+    public void test_offer_rejectsWhenFull() {
+        // Arrange
+        RingBuffer<Integer> sut = new RingBuffer<>(4);
+
+        // Act
+        for (int i = 0; i < 4; i++) assertTrue(sut.offer(i));
+        boolean overflow = sut.offer(4);
+
+        // Assert
+        assertFalse(overflow);
+        assertEquals(Integer.valueOf(0), sut.poll());
+        assertTrue(sut.offer(4));
+        for (int i = 1; i <= 4; i++) assertEquals(Integer.valueOf(i), sut.poll());
+        assertNull(sut.poll());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_init_givenCapacityNotPowerOfTwo() {
+        new RingBuffer<Integer>(1000);
+    }
+
+    @Test
+    public void test_offer_manyProducersLoseNothing() throws InterruptedException {
+        // Arrange
+        int producers = 4;
+        int perProducer = 100000;
+        RingBuffer<Long> sut = new RingBuffer<>(1024);
+        ExecutorService pool = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // Act
+        for (int p = 0; p < producers; p++) {
+            long producer = p;
+            pool.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (long i = 0; i < perProducer; i++) {
+                    while (!sut.offer(producer << 32 | i)) Thread.yield();
+                }
+            });
+        }
+        start.countDown();
+
+        /* every producer's values have to come out complete and in that producer's order */
+        long[] next = new long[producers];
+        long received = 0;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (received < (long) producers * perProducer && System.nanoTime() < deadline) {
+            Long value = sut.poll();
+            if (value == null) continue;
+            int producer = (int) (value >>> 32);
+            assertEquals(next[producer]++, value & 0xffffffffL);
+            received++;
+        }
+        pool.shutdownNow();
+
+        // Assert
+        assertEquals((long) producers * perProducer, received);
+        assertNull(sut.poll());
+    }
+}